@@ -34,6 +34,7 @@ public class OraxenQuestPlugin extends JavaPlugin {
 
     // Listener
     private BlockBreakListener blockBreakListener;
+    private ChestListener chestListener;
     private EliteDropListener eliteDropListener;
 
     // Logger
@@ -94,7 +95,8 @@ public class OraxenQuestPlugin extends JavaPlugin {
         Bukkit.getPluginManager().registerEvents(blockBreakListener, this);
         Bukkit.getPluginManager().registerEvents(new MobDropListener(this), this);
         Bukkit.getPluginManager().registerEvents(new MobSpawnListener(this), this);
-        Bukkit.getPluginManager().registerEvents(new ChestListener(this), this);
+        chestListener = new ChestListener(this);
+        Bukkit.getPluginManager().registerEvents(chestListener, this);
         Bukkit.getPluginManager().registerEvents(new NPCInteractListener(this), this);
         Bukkit.getPluginManager().registerEvents(new TradeCompleteListener(this), this);
         Bukkit.getPluginManager().registerEvents(new AnvilListener(this), this);
@@ -216,13 +218,17 @@ public class OraxenQuestPlugin extends JavaPlugin {
             blockBreakListener.shutdown();
         }
 
-        // Speichere Daten
-        if (chestManager != null) {
-            chestManager.saveData();
+        if (chestListener != null) {
+            chestListener.shutdown();
+        }
+
+        if (eliteDropListener != null) {
+            eliteDropListener.shutdown();
         }
 
+        // Speichere Daten
         if (dataManager != null) {
-            dataManager.save();
+            dataManager.shutdown();
         }
 
         pluginLogger.info("OraxenQuestPlugin deaktiviert!");
@@ -254,6 +260,14 @@ public class OraxenQuestPlugin extends JavaPlugin {
         return eliteDropListener;
     }
 
+    public BlockBreakListener getBlockBreakListener() {
+        return blockBreakListener;
+    }
+
+    public ChestListener getChestListener() {
+        return chestListener;
+    }
+
     public DataManager getDataManager() {
         return dataManager;
     }
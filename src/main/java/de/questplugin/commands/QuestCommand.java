@@ -5,6 +5,7 @@ import de.questplugin.managers.QuestManager;
 import de.questplugin.utils.BiomeHelper;
 import de.questplugin.utils.MobHelper;
 import de.questplugin.utils.StructureHelper;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -133,7 +134,26 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
 
         try {
             plugin.reloadConfig();
-            plugin.getDataManager().reload();
+            plugin.getPluginLogger().reloadDebugMode();
+        } catch (Exception e) {
+            reportReloadError(sender, e);
+            return true;
+        }
+
+        // data.yml lädt asynchron (wartet auf den Writer) - abhängige Manager
+        // lesen DataManager-Zustand und laufen danach wieder auf dem Main-Thread
+        plugin.getDataManager().reload().whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("data.yml Reload-Fehler: " + error.getMessage());
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> reloadManagers(sender));
+        });
+
+        return true;
+    }
+
+    private void reloadManagers(CommandSender sender) {
+        try {
             plugin.getBlockDropManager().reload();
             plugin.getMobDropManager().reload();
             plugin.getChestManager().reload();
@@ -142,19 +162,30 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
             plugin.getQuestManager().reload();
             plugin.getRaidManager().reload();
             plugin.getEliteMobManager().reload();
+            plugin.getCustomMobAPI().getAbilityManager().reloadActivationRange();
 
             if (plugin.getEliteDropListener() != null) {
                 plugin.getEliteDropListener().reload();
             }
 
+            if (plugin.getChestListener() != null) {
+                plugin.getChestListener().reload();
+            }
+
+            if (plugin.getBlockBreakListener() != null) {
+                plugin.getBlockBreakListener().reload();
+            }
+
             sender.sendMessage(PREFIX + ChatColor.GREEN + "✓ Config neu geladen!");
         } catch (Exception e) {
-            sender.sendMessage(PREFIX + ChatColor.RED + "✗ Fehler beim Reload: " + e.getMessage());
-            plugin.getLogger().severe("Reload-Fehler: " + e.getMessage());
-            e.printStackTrace();
+            reportReloadError(sender, e);
         }
+    }
 
-        return true;
+    private void reportReloadError(CommandSender sender, Exception e) {
+        sender.sendMessage(PREFIX + ChatColor.RED + "✗ Fehler beim Reload: " + e.getMessage());
+        plugin.getLogger().severe("Reload-Fehler: " + e.getMessage());
+        e.printStackTrace();
     }
 
     private boolean handleSpawnNPC(CommandSender sender) {
@@ -252,6 +283,8 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
             boolean currentDebug = plugin.getConfig().getBoolean("debug-mode", false);
             sender.sendMessage(PREFIX + "Debug-Mode: " +
                     (currentDebug ? ChatColor.GREEN + "AN" : ChatColor.RED + "AUS"));
+            sender.sendMessage(ChatColor.GRAY + "Custom Mobs: " +
+                    ChatColor.WHITE + plugin.getCustomMobAPI().getRegistryStatus());
             sender.sendMessage(ChatColor.GRAY + "Nutze: /quest debug <on|off>");
             return true;
         }
@@ -263,6 +296,7 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
         plugin.saveConfig();
 
         // Update alle Manager
+        plugin.getPluginLogger().setDebugMode(enable);
         plugin.getBlockDropManager().setDebugMode(enable);
         plugin.getMobDropManager().setDebugMode(enable);
 
@@ -2,38 +2,65 @@ package de.questplugin.listeners;
 
 import de.questplugin.OraxenQuestPlugin;
 import de.questplugin.utils.EnchantmentHelper;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.block.Block;
+import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockDropItemEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Listener für Block-Drops
  *
+ * Drop-Modus (drop-mechanics.block-drop-mode):
+ * - EVENT: Custom-Drops kommen im BlockDropItemEvent (LOW) in die echte
+ *   Drop-Liste - erst in passende Vanilla-Stacks gemerged, der Rest als
+ *   ungespawnte Item-Entity (World#createEntity). Auto-Pickup/Telekinesis
+ *   ab NORMAL sehen sie wie Vanilla-Drops, ein Abbruch verwirft alle.
+ *   Bleibt das Event aus (Creative, setDropItems(false)), werden sie im
+ *   nächsten Tick normal gedroppt wie bisher.
+ * - NATURAL: Eigene Item-Entities per dropItemNaturally (altes Verhalten)
+ *
  * OPTIMIERT: Nutzt EnchantmentHelper statt duplizierte Logik
  */
 public class BlockBreakListener implements Listener {
 
     private final OraxenQuestPlugin plugin;
     private final Map<UUID, VeinMinerSession> veinMinerSessions = new ConcurrentHashMap<>();
+    // Custom-Drops zwischen BlockBreakEvent und BlockDropItemEvent (Main-Thread)
+    private final Map<Block, List<ItemStack>> pendingDrops = new HashMap<>();
     private BukkitRunnable cleanupTask;
     private boolean debugMode;
+    private boolean eventDrops;
+    private boolean fallbackScheduled;
 
     public BlockBreakListener(OraxenQuestPlugin plugin) {
         this.plugin = plugin;
         this.debugMode = plugin.getConfig().getBoolean("debug-mode", false);
+        loadDropMode();
         startCleanupTask();
     }
 
+    private void loadDropMode() {
+        String mode = plugin.getConfig().getString("drop-mechanics.block-drop-mode", "EVENT");
+        eventDrops = !"NATURAL".equalsIgnoreCase(mode);
+        plugin.getPluginLogger().debug(() -> "Block-Drop-Modus: " + (eventDrops ? "EVENT" : "NATURAL"));
+    }
+
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onBlockBreak(BlockBreakEvent event) {
         Block block = event.getBlock();
@@ -92,15 +119,28 @@ public class BlockBreakListener implements Listener {
 
         // Items droppen
         if (!customDrops.isEmpty()) {
-            for (ItemStack drop : customDrops) {
-                if (debugMode) {
+            if (debugMode) {
+                for (ItemStack drop : customDrops) {
                     String name = drop.hasItemMeta() && drop.getItemMeta().hasDisplayName()
                             ? drop.getItemMeta().getDisplayName()
                             : drop.getType().toString();
                     plugin.getPluginLogger().info("  → Drop: " + drop.getType() +
                             " x" + drop.getAmount() + " (" + name + ")");
                 }
-                block.getWorld().dropItemNaturally(block.getLocation(), drop);
+            }
+
+            if (eventDrops) {
+                // Anhängen im BlockDropItemEvent (folgt im selben Abbau-Vorgang)
+                pendingDrops.merge(block, customDrops, (existing, added) -> {
+                    List<ItemStack> merged = new ArrayList<>(existing);
+                    merged.addAll(added);
+                    return merged;
+                });
+                scheduleFallback();
+            } else {
+                for (ItemStack drop : customDrops) {
+                    block.getWorld().dropItemNaturally(block.getLocation(), drop);
+                }
             }
         }
 
@@ -109,6 +149,99 @@ public class BlockBreakListener implements Listener {
         }
     }
 
+    /**
+     * Hängt vorgemerkte Custom-Drops an die Vanilla-Drops an
+     *
+     * Laut Javadoc erlaubt getItems() nur Entfernen. Paper spawnt nach dem
+     * Event aber jede Item-Entity der Liste (addFreshEntity), ungespawnte
+     * Entities aus World#createEntity sind damit der einzige Weg in den
+     * gemeinsamen Drop-Pfad. Läuft auf LOW, damit Auto-Pickup-Plugins
+     * (NORMAL und höher) die Custom-Drops mit einsammeln.
+     */
+    @EventHandler(priority = EventPriority.LOW)
+    public void onBlockDropItem(BlockDropItemEvent event) {
+        List<ItemStack> drops = pendingDrops.remove(event.getBlock());
+        if (drops == null || event.isCancelled()) {
+            return; // Abgebrochen = keine Drops, auch keine Custom-Drops
+        }
+
+        Block block = event.getBlock();
+        List<Item> items = event.getItems();
+
+        for (ItemStack drop : drops) {
+            // Erst in vorhandene Stacks (Vanilla + bereits angehängte) mergen
+            if (mergeInto(items, drop)) {
+                continue;
+            }
+            items.add(createItem(block, drop));
+        }
+    }
+
+    /**
+     * Füllt passende Stacks der Drop-Liste auf
+     *
+     * @return true wenn der Drop vollständig aufgegangen ist
+     */
+    private boolean mergeInto(List<Item> items, ItemStack drop) {
+        for (Item item : items) {
+            ItemStack stack = item.getItemStack();
+            int space = stack.getMaxStackSize() - stack.getAmount();
+            if (space <= 0 || !stack.isSimilar(drop)) {
+                continue;
+            }
+
+            int moved = Math.min(space, drop.getAmount());
+            stack.setAmount(stack.getAmount() + moved);
+            item.setItemStack(stack);
+            drop.setAmount(drop.getAmount() - moved);
+
+            if (drop.getAmount() <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Item createItem(Block block, ItemStack drop) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // Streuung wie Block.popResource
+        Location location = block.getLocation().add(
+                0.5 + random.nextDouble(-0.25, 0.25),
+                0.5 + random.nextDouble(-0.25, 0.25),
+                0.5 + random.nextDouble(-0.25, 0.25));
+
+        Item item = block.getWorld().createEntity(location, Item.class);
+        item.setItemStack(drop);
+        return item;
+    }
+
+    /**
+     * Droppt Custom-Drops deren BlockDropItemEvent ausblieb im nächsten Tick
+     * (Creative, setDropItems(false) - Verhalten wie vor dem EVENT-Modus)
+     */
+    private void scheduleFallback() {
+        if (fallbackScheduled) {
+            return;
+        }
+        fallbackScheduled = true;
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            fallbackScheduled = false;
+            dropPending();
+        });
+    }
+
+    private void dropPending() {
+        for (Map.Entry<Block, List<ItemStack>> entry : pendingDrops.entrySet()) {
+            Block block = entry.getKey();
+            for (ItemStack drop : entry.getValue()) {
+                block.getWorld().dropItemNaturally(block.getLocation(), drop);
+            }
+        }
+        pendingDrops.clear();
+    }
+
     private VeinMinerSession getOrCreateSession(Player player) {
         UUID uuid = player.getUniqueId();
 
@@ -135,10 +268,16 @@ public class BlockBreakListener implements Listener {
         this.debugMode = enabled;
     }
 
+    public void reload() {
+        debugMode = plugin.getConfig().getBoolean("debug-mode", false);
+        loadDropMode();
+    }
+
     public void shutdown() {
         if (cleanupTask != null) {
             cleanupTask.cancel();
         }
+        dropPending();
         veinMinerSessions.clear();
     }
 
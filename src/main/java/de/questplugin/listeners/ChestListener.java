@@ -1,6 +1,8 @@
 package de.questplugin.listeners;
 
 import de.questplugin.OraxenQuestPlugin;
+import de.questplugin.utils.ChestAuditLogger;
+import org.bukkit.Location;
 import org.bukkit.block.Chest;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -13,9 +15,11 @@ import org.bukkit.inventory.ItemStack;
 public class ChestListener implements Listener {
 
     private final OraxenQuestPlugin plugin;
+    private final ChestAuditLogger auditLogger;
 
     public ChestListener(OraxenQuestPlugin plugin) {
         this.plugin = plugin;
+        this.auditLogger = new ChestAuditLogger(plugin);
     }
 
     /**
@@ -24,62 +28,87 @@ public class ChestListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGH)
     public void onLootGenerate(LootGenerateEvent event) {
-        plugin.getPluginLogger().info("=== LootGenerateEvent ===");
-        plugin.getPluginLogger().info("Holder: " + event.getInventoryHolder());
-        plugin.getPluginLogger().info("LootTable: " + (event.getLootTable() != null ? event.getLootTable().getKey() : "NULL"));
-
         // Prüfe ob es eine Kiste ist
         if (!(event.getInventoryHolder() instanceof Chest)) {
-            plugin.getPluginLogger().info("Kein Chest - Skip");
-            plugin.getPluginLogger().info("========================");
             return;
         }
 
         Chest chest = (Chest) event.getInventoryHolder();
-
-        plugin.getLogger().info("Location: " + chest.getLocation());
+        Location location = chest.getLocation();
 
         // Prüfe ob bereits verarbeitet
-        if (plugin.getChestManager().isProcessed(chest.getLocation())) {
-            plugin.getPluginLogger().info("Bereits verarbeitet - Skip");
-            plugin.getPluginLogger().info("========================");
+        if (plugin.getChestManager().isProcessed(location)) {
+            if (plugin.getPluginLogger().isDebugEnabled()) {
+                plugin.getPluginLogger().debug("Chest bereits verarbeitet - Skip: " + location);
+            }
+
+            if (auditLogger.shouldRecord()) {
+                auditLogger.record("loot_skip", location, "loot_table=" + lootTableKey(event));
+            }
             return;
         }
 
         // Markiere als verarbeitet
-        plugin.getChestManager().markProcessed(chest.getLocation());
-        plugin.getPluginLogger().info("Als verarbeitet markiert");
+        plugin.getChestManager().markProcessed(location);
 
         // Füge Custom Items hinzu
         plugin.getChestManager().populateChest(chest, event.getLootTable());
 
-        plugin.getPluginLogger().info("Custom Items hinzugefügt");
-        plugin.getPluginLogger().info("========================");
+        if (plugin.getPluginLogger().isDebugEnabled()) {
+            plugin.getPluginLogger().debug("Chest befüllt: " + location +
+                    " (LootTable: " + lootTableKey(event) + ")");
+        }
+
+        if (auditLogger.shouldRecord()) {
+            auditLogger.record("loot_generate", location, "loot_table=" + lootTableKey(event));
+        }
     }
 
     /**
-     * Zusätzlicher Debug-Listener für Inventory Open
+     * Audit für Inventory Open - nur wenn chest-audit aktiv
      * Um zu sehen WANN Kisten geöffnet werden
      */
     @EventHandler(priority = EventPriority.MONITOR)
     public void onInventoryOpen(InventoryOpenEvent event) {
+        // getHolder() erzeugt einen BlockState-Snapshot - nur wenn Audit aktiv
+        if (!auditLogger.isEnabled()) {
+            return;
+        }
+
         InventoryHolder holder = event.getInventory().getHolder();
+        if (!(holder instanceof Chest) || !auditLogger.shouldRecord()) {
+            return;
+        }
 
-        if (holder instanceof Chest) {
-            Chest chest = (Chest) holder;
-            plugin.getPluginLogger().info("=== Chest geöffnet ===");
-            plugin.getPluginLogger().info("Spieler: " + event.getPlayer().getName());
-            plugin.getPluginLogger().info("Location: " + chest.getLocation());
-            plugin.getPluginLogger().info("Inventory Size: " + event.getInventory().getSize());
-            plugin.getPluginLogger().info("Items in Chest: " + event.getInventory().getContents().length);
-
-            // Zähle nicht-null Items
-            int itemCount = 0;
-            for (ItemStack item : event.getInventory().getContents()) {
-                if (item != null) itemCount++;
-            }
-            plugin.getPluginLogger().info("Nicht-leere Slots: " + itemCount);
-            plugin.getPluginLogger().info("======================");
+        Chest chest = (Chest) holder;
+
+        // Zähle nicht-null Items
+        int itemCount = 0;
+        for (ItemStack item : event.getInventory().getContents()) {
+            if (item != null) itemCount++;
         }
+
+        auditLogger.record("chest_open", chest.getLocation(),
+                "player=" + event.getPlayer().getName() +
+                " size=" + event.getInventory().getSize() +
+                " filled=" + itemCount);
+    }
+
+    private String lootTableKey(LootGenerateEvent event) {
+        return event.getLootTable() != null ? event.getLootTable().getKey().toString() : "NULL";
+    }
+
+    /**
+     * Lädt Audit-Config neu
+     */
+    public void reload() {
+        auditLogger.reload();
+    }
+
+    /**
+     * Schreibt ausstehende Audit-Einträge
+     */
+    public void shutdown() {
+        auditLogger.shutdown();
     }
-}
\ No newline at end of file
+}
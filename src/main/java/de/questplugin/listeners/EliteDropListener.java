@@ -5,12 +5,6 @@ import de.questplugin.mobs.api.CustomMob;
 import de.questplugin.utils.EnchantmentHelper;
 import de.questplugin.utils.DropMechanics;
 import io.th0rgal.oraxen.api.OraxenItems;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.ChatColor;
-import org.bukkit.Location;
-import org.bukkit.Particle;
-import org.bukkit.Sound;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -29,19 +23,25 @@ import java.util.concurrent.ThreadLocalRandom;
  * - Elite-spezifische Drops aus config.yml
  * - Level-basierte Chance-Multiplikation
  * - Looting-Unterstützung
- * - Bessere Loot-Effekte
+ * - Bessere Loot-Effekte (gebündelt pro Tick/Region, siehe EliteLootBatcher)
+ *
+ * Lookup über die beim Spawn gestempelte Elite-ID (CustomMob/PDC) in
+ * eine vorkompilierte Tabelle mit Item-Prototypen - kein Namens-
+ * Matching und kein ItemBuilder im Death-Pfad.
  *
  * OPTIMIERT: Nutzt EnchantmentHelper statt duplizierte Logik
  */
 public class EliteDropListener implements Listener {
 
     private final OraxenQuestPlugin plugin;
-    private final Map<String, List<EliteDropEntry>> eliteDrops;
+    // Elite-ID (lowercase) → kompilierte Drops, bei Reload atomar ersetzt
+    private volatile Map<String, List<EliteDropEntry>> eliteDrops = Collections.emptyMap();
+    private final EliteLootBatcher lootBatcher;
     private boolean debugMode;
 
     public EliteDropListener(OraxenQuestPlugin plugin) {
         this.plugin = plugin;
-        this.eliteDrops = new HashMap<>();
+        this.lootBatcher = new EliteLootBatcher(plugin);
         this.debugMode = plugin.getConfig().getBoolean("debug-mode", false);
         loadEliteDrops();
     }
@@ -50,26 +50,28 @@ public class EliteDropListener implements Listener {
      * Lädt Elite-Drops direkt aus elite-mobs Config
      */
     private void loadEliteDrops() {
-        eliteDrops.clear();
+        Map<String, List<EliteDropEntry>> compiled = new HashMap<>();
         int totalDrops = 0;
 
         // Lade aus elite-mobs.biomes
         var biomesSection = plugin.getConfig().getConfigurationSection("elite-mobs.biomes");
         if (biomesSection != null) {
-            totalDrops += loadEliteDropsFromSection(biomesSection, "biomes");
+            totalDrops += loadEliteDropsFromSection(biomesSection, "biomes", compiled);
         }
 
         // Lade aus elite-mobs.structures
         var structuresSection = plugin.getConfig().getConfigurationSection("elite-mobs.structures");
         if (structuresSection != null) {
-            totalDrops += loadEliteDropsFromSection(structuresSection, "structures");
+            totalDrops += loadEliteDropsFromSection(structuresSection, "structures", compiled);
         }
 
+        eliteDrops = Map.copyOf(compiled);
+
         if (totalDrops == 0) {
             plugin.getPluginLogger().info("Keine Elite-Drops konfiguriert (optional)");
         } else {
             plugin.getPluginLogger().info("Elite-Drops: " + totalDrops + " Items für " +
-                    eliteDrops.size() + " Elite-Typen");
+                    compiled.size() + " Elite-Typen");
         }
     }
 
@@ -77,7 +79,8 @@ public class EliteDropListener implements Listener {
      * Lädt Drops aus einer Config-Sektion (biomes oder structures)
      */
     private int loadEliteDropsFromSection(org.bukkit.configuration.ConfigurationSection section,
-                                          String sectionType) {
+                                          String sectionType,
+                                          Map<String, List<EliteDropEntry>> target) {
         int totalDrops = 0;
 
         for (String eliteId : section.getKeys(false)) {
@@ -115,11 +118,15 @@ public class EliteDropListener implements Listener {
                     continue;
                 }
 
-                drops.add(new EliteDropEntry(itemId, chance, minAmount, maxAmount));
+                // Prototyp einmalig bauen, pro Drop nur klonen
+                ItemStack prototype = buildItem(itemId);
+                if (prototype == null) continue;
+
+                drops.add(new EliteDropEntry(itemId, prototype, chance, minAmount, maxAmount));
             }
 
             if (!drops.isEmpty()) {
-                eliteDrops.put(eliteId.toLowerCase(), drops);
+                target.put(eliteId.toLowerCase(), List.copyOf(drops));
                 totalDrops += drops.size();
                 plugin.getPluginLogger().debug("Elite '" + sectionType + "." + eliteId +
                         "': " + drops.size() + " Drops");
@@ -142,29 +149,24 @@ public class EliteDropListener implements Listener {
             return; // Kein Custom Mob
         }
 
-        // Prüfe ob Elite-Mob (hat Custom Name und Level)
-        if (customMob.getCustomName() == null || customMob.getLevel() <= 1) {
-            return; // Normaler Custom Mob, kein Elite
+        // Elite-ID wird beim Spawn gestempelt (EliteMobManager)
+        String eliteId = customMob.getEliteId();
+        if (eliteId == null) {
+            return; // Kein Elite aus der Config
         }
 
-        plugin.getPluginLogger().debug("=== Elite Death ===");
-        plugin.getPluginLogger().debug("Elite: " + customMob.getCustomName());
-        plugin.getPluginLogger().debug("Level: " + customMob.getLevel());
-
-        // Finde Elite-ID aus CustomName oder Config
-        String eliteId = findEliteId(customMob);
-        if (eliteId == null) {
-            plugin.getPluginLogger().debug("Keine Elite-ID gefunden");
+        List<EliteDropEntry> drops = eliteDrops.get(eliteId);
+        if (drops == null) {
+            if (debugMode) {
+                plugin.getPluginLogger().debug("Keine Drops für Elite '" + eliteId + "' konfiguriert");
+            }
             return;
         }
 
-        plugin.getPluginLogger().debug("Elite-ID: " + eliteId);
-
-        // Hole Drops
-        List<EliteDropEntry> drops = eliteDrops.get(eliteId.toLowerCase());
-        if (drops == null || drops.isEmpty()) {
-            plugin.getPluginLogger().debug("Keine Drops konfiguriert");
-            return;
+        if (debugMode) {
+            plugin.getPluginLogger().debug("=== Elite Death ===");
+            plugin.getPluginLogger().debug("Elite-ID: " + eliteId);
+            plugin.getPluginLogger().debug("Level: " + customMob.getLevel());
         }
 
         // Hole Killer
@@ -177,7 +179,9 @@ public class EliteDropListener implements Listener {
             lootingLevel = EnchantmentHelper.getLootingLevel(weapon);
         }
 
-        plugin.getPluginLogger().debug("Looting: " + lootingLevel);
+        if (debugMode) {
+            plugin.getPluginLogger().debug("Looting: " + lootingLevel);
+        }
 
         // Generiere Drops
         List<ItemStack> generatedDrops = generateEliteDrops(
@@ -186,59 +190,13 @@ public class EliteDropListener implements Listener {
                 lootingLevel
         );
 
-        // Füge Drops hinzu
-        Location dropLocation = entity.getLocation();
-        for (ItemStack drop : generatedDrops) {
-            dropLocation.getWorld().dropItemNaturally(dropLocation, drop);
+        // Gebündelt droppen (Merge + Effekte pro Region, nächster Tick)
+        lootBatcher.add(entity.getLocation(), generatedDrops, killer);
 
-            plugin.getPluginLogger().debug("Elite-Drop: " + drop.getType() +
-                    " x" + drop.getAmount());
+        if (debugMode) {
+            plugin.getPluginLogger().debug("Total Drops: " + generatedDrops.size());
+            plugin.getPluginLogger().debug("==================");
         }
-
-        // Special Effects wenn Items gedroppt wurden
-        if (!generatedDrops.isEmpty()) {
-            playEliteDropEffects(dropLocation, generatedDrops.size());
-
-            if (killer != null) {
-                killer.sendMessage(Component.text("✦ ", NamedTextColor.GOLD)
-                        .append(Component.text("Elite-Loot: ", NamedTextColor.YELLOW))
-                        .append(Component.text(generatedDrops.size() + " Items!", NamedTextColor.WHITE)));
-            }
-        }
-
-        plugin.getPluginLogger().debug("Total Drops: " + generatedDrops.size());
-        plugin.getPluginLogger().debug("==================");
-    }
-
-    /**
-     * Findet Elite-ID aus CustomMob
-     * Versucht über CustomName-Matching mit Config
-     */
-    private String findEliteId(CustomMob mob) {
-        // Hole alle Elite-Configs
-        var eliteConfigs = plugin.getEliteMobManager().getEliteIds();
-
-        for (String eliteId : eliteConfigs) {
-            var config = plugin.getEliteMobManager().getEliteConfig(eliteId);
-            if (config == null) continue;
-
-            // Vergleiche Custom Name (ohne Color Codes)
-            String mobName = ChatColor.stripColor(mob.getCustomName());
-            String configName = ChatColor.stripColor(
-                    ChatColor.translateAlternateColorCodes('&', config.getEliteName())
-            );
-
-            if (mobName.equals(configName)) {
-                return eliteId;
-            }
-        }
-
-        // Fallback: Verwende ersten Teil des Custom Names
-        String name = ChatColor.stripColor(mob.getCustomName())
-                .toLowerCase()
-                .replaceAll("[^a-z0-9]", "_");
-
-        return name;
     }
 
     /**
@@ -253,8 +211,10 @@ public class EliteDropListener implements Listener {
         // Level-Multiplikator: Level 1 = 1.0x, Level 5 = 1.4x, Level 10 = 1.8x
         double levelMultiplier = 1.0 + (eliteLevel - 1) * 0.1;
 
-        plugin.getPluginLogger().debug("Level-Multiplikator: " +
-                String.format("%.2f", levelMultiplier) + "x");
+        if (debugMode) {
+            plugin.getPluginLogger().debug("Level-Multiplikator: " +
+                    String.format("%.2f", levelMultiplier) + "x");
+        }
 
         for (EliteDropEntry drop : drops) {
             double baseChance = drop.chance;
@@ -281,49 +241,22 @@ public class EliteDropListener implements Listener {
             }
 
             if (success) {
-                ItemStack item = buildItem(drop.oraxenItemId);
-                if (item != null) {
-                    // Amount mit leichtem Looting-Boost
-                    int amount = random.nextInt(drop.minAmount, drop.maxAmount + 1);
-                    if (lootingLevel > 0 && random.nextDouble() < (lootingLevel * 0.1)) {
-                        amount++; // 10% Chance pro Looting-Level für +1
-                    }
-
-                    item.setAmount(amount);
-                    results.add(item);
+                ItemStack item = drop.prototype.clone();
+
+                // Amount mit leichtem Looting-Boost
+                int amount = random.nextInt(drop.minAmount, drop.maxAmount + 1);
+                if (lootingLevel > 0 && random.nextDouble() < (lootingLevel * 0.1)) {
+                    amount++; // 10% Chance pro Looting-Level für +1
                 }
+
+                item.setAmount(amount);
+                results.add(item);
             }
         }
 
         return results;
     }
 
-    /**
-     * Spielt Special Effects beim Elite-Drop
-     */
-    private void playEliteDropEffects(Location location, int dropCount) {
-        // Partikel
-        Particle particle = Particle.FIREWORK;
-        if (dropCount >= 3) {
-            particle = Particle.TOTEM_OF_UNDYING;
-        }
-
-        location.getWorld().spawnParticle(
-                particle,
-                location.clone().add(0, 1, 0),
-                50,
-                0.5, 0.5, 0.5,
-                0.1
-        );
-
-        // Sound
-        Sound sound = dropCount >= 3 ?
-                Sound.ENTITY_PLAYER_LEVELUP :
-                Sound.ENTITY_EXPERIENCE_ORB_PICKUP;
-
-        location.getWorld().playSound(location, sound, 1.0f, 1.2f);
-    }
-
     /**
      * Validiert Oraxen-Item
      */
@@ -363,11 +296,17 @@ public class EliteDropListener implements Listener {
      * Reload
      */
     public void reload() {
-        eliteDrops.clear();
         debugMode = plugin.getConfig().getBoolean("debug-mode", false);
         loadEliteDrops();
     }
 
+    /**
+     * Droppt noch vorgemerkten Loot sofort (onDisable)
+     */
+    public void shutdown() {
+        lootBatcher.flush();
+    }
+
     /**
      * Setzt Debug-Mode
      */
@@ -376,8 +315,9 @@ public class EliteDropListener implements Listener {
     }
 
     /**
-         * Elite-Drop Entry
-         */
-        private record EliteDropEntry(String oraxenItemId, double chance, int minAmount, int maxAmount) {
+     * Kompilierter Elite-Drop (Prototyp wird pro Drop geklont)
+     */
+    private record EliteDropEntry(String oraxenItemId, ItemStack prototype, double chance,
+                                  int minAmount, int maxAmount) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package de.questplugin.listeners;
+
+import de.questplugin.OraxenQuestPlugin;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sammelt Elite-Loot eines Ticks und droppt ihn gebündelt
+ *
+ * Bei Massen-Kills (AoE im Raid) sterben viele Elites im selben Tick.
+ * Statt pro ItemStack eine Item-Entity zu spawnen werden Drops pro
+ * 8x8-Zelle zusammengeführt (isSimilar, bis zur Max-Stackgröße) und am
+ * Schwerpunkt der Tode gedroppt. Effekte laufen höchstens einmal pro
+ * 16x16-Region und EFFECT_COOLDOWN Ticks, Chat-Meldungen einmal pro Killer.
+ *
+ * Nur vom Main-Thread nutzen.
+ */
+final class EliteLootBatcher {
+
+    // 8x8 Block-Zellen für Loot, 16x16 für Effekte
+    private static final int LOOT_CELL_SHIFT = 3;
+    private static final int EFFECT_CELL_SHIFT = 4;
+    private static final int EFFECT_COOLDOWN = 10;
+
+    private final OraxenQuestPlugin plugin;
+    private final Map<CellKey, PendingLoot> pending = new LinkedHashMap<>();
+    private final Map<Player, Integer> killerItems = new HashMap<>();
+    private final Map<CellKey, Integer> lastEffectTick = new HashMap<>();
+    private boolean flushScheduled;
+
+    EliteLootBatcher(OraxenQuestPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Merkt Drops eines Elite-Tods vor (Drop erfolgt zum nächsten Tick)
+     */
+    void add(Location location, List<ItemStack> drops, Player killer) {
+        if (drops.isEmpty()) {
+            return;
+        }
+
+        CellKey key = CellKey.of(location, LOOT_CELL_SHIFT);
+        pending.computeIfAbsent(key, k -> new PendingLoot(location.getWorld()))
+                .add(location, drops);
+
+        if (killer != null) {
+            killerItems.merge(killer, drops.size(), Integer::sum);
+        }
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Bukkit.getScheduler().runTask(plugin, this::flush);
+        }
+    }
+
+    /**
+     * Droppt alle vorgemerkten Stacks, spielt Effekte und meldet Killer
+     */
+    void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        int tick = Bukkit.getCurrentTick();
+
+        for (PendingLoot loot : pending.values()) {
+            Location center = loot.center();
+            for (ItemStack stack : loot.stacks) {
+                loot.world.dropItemNaturally(center, stack);
+            }
+
+            if (plugin.getPluginLogger().isDebugEnabled()) {
+                plugin.getPluginLogger().debug("Elite-Loot gebündelt: " + loot.items + " Drops aus " +
+                        loot.deaths + " Tod(en) → " + loot.stacks.size() + " Stacks");
+            }
+
+            CellKey region = CellKey.of(center, EFFECT_CELL_SHIFT);
+            Integer last = lastEffectTick.get(region);
+            if (last == null || tick - last >= EFFECT_COOLDOWN) {
+                lastEffectTick.put(region, tick);
+                playEffects(center, loot.items);
+            }
+        }
+        pending.clear();
+
+        for (Map.Entry<Player, Integer> entry : killerItems.entrySet()) {
+            if (!entry.getKey().isOnline()) continue;
+
+            entry.getKey().sendMessage(Component.text("✦ ", NamedTextColor.GOLD)
+                    .append(Component.text("Elite-Loot: ", NamedTextColor.YELLOW))
+                    .append(Component.text(entry.getValue() + " Items!", NamedTextColor.WHITE)));
+        }
+        killerItems.clear();
+
+        // Abgelaufene Effekt-Sperren verwerfen
+        Iterator<Integer> lastTicks = lastEffectTick.values().iterator();
+        while (lastTicks.hasNext()) {
+            if (tick - lastTicks.next() >= EFFECT_COOLDOWN) {
+                lastTicks.remove();
+            }
+        }
+    }
+
+    /**
+     * Spielt Special Effects beim Elite-Drop
+     */
+    private void playEffects(Location location, int dropCount) {
+        // Partikel
+        Particle particle = dropCount >= 3 ? Particle.TOTEM_OF_UNDYING : Particle.FIREWORK;
+
+        location.getWorld().spawnParticle(
+                particle,
+                location.clone().add(0, 1, 0),
+                50,
+                0.5, 0.5, 0.5,
+                0.1
+        );
+
+        // Sound
+        Sound sound = dropCount >= 3 ?
+                Sound.ENTITY_PLAYER_LEVELUP :
+                Sound.ENTITY_EXPERIENCE_ORB_PICKUP;
+
+        location.getWorld().playSound(location, sound, 1.0f, 1.2f);
+    }
+
+    private record CellKey(UUID worldId, long cell) {
+
+        static CellKey of(Location location, int shift) {
+            long cellX = location.getBlockX() >> shift;
+            long cellZ = location.getBlockZ() >> shift;
+            return new CellKey(location.getWorld().getUID(), (cellX << 32) | (cellZ & 0xFFFFFFFFL));
+        }
+    }
+
+    private static final class PendingLoot {
+
+        private final World world;
+        private final List<ItemStack> stacks = new ArrayList<>();
+        private double sumX;
+        private double sumY;
+        private double sumZ;
+        private int deaths;
+        private int items;
+
+        PendingLoot(World world) {
+            this.world = world;
+        }
+
+        void add(Location location, List<ItemStack> drops) {
+            sumX += location.getX();
+            sumY += location.getY();
+            sumZ += location.getZ();
+            deaths++;
+            items += drops.size();
+
+            for (ItemStack drop : drops) {
+                merge(drop);
+            }
+        }
+
+        /**
+         * Füllt ähnliche Stacks bis zur Max-Größe auf, Rest als neuer Stack
+         */
+        private void merge(ItemStack drop) {
+            int remaining = drop.getAmount();
+
+            for (ItemStack stack : stacks) {
+                if (remaining <= 0) break;
+
+                int space = stack.getMaxStackSize() - stack.getAmount();
+                if (space > 0 && stack.isSimilar(drop)) {
+                    int moved = Math.min(space, remaining);
+                    stack.setAmount(stack.getAmount() + moved);
+                    remaining -= moved;
+                }
+            }
+
+            if (remaining > 0) {
+                ItemStack rest = drop.clone();
+                rest.setAmount(remaining);
+                stacks.add(rest);
+            }
+        }
+
+        Location center() {
+            return new Location(world, sumX / deaths, sumY / deaths, sumZ / deaths);
+        }
+    }
+}
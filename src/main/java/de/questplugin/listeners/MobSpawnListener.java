@@ -28,6 +28,11 @@ public class MobSpawnListener implements Listener {
 
     @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
     public void onMobSpawn(CreatureSpawnEvent event) {
+        // Early-Exit: Mob-Typ ohne Equipment-Config (EnumSet-Lookup)
+        if (!plugin.getMobEquipmentManager().hasEquipment(event.getEntityType())) {
+            return;
+        }
+
         LivingEntity entity = event.getEntity();
 
         // Nur für Mobs mit Equipment-Support
@@ -35,15 +40,12 @@ public class MobSpawnListener implements Listener {
             return;
         }
 
-        // Prüfe ob Equipment konfiguriert
-        if (!plugin.getMobEquipmentManager().hasEquipment(entity.getType())) {
-            return;
+        if (plugin.getPluginLogger().isDebugEnabled()) {
+            plugin.getPluginLogger().debug("=== Mob Spawn ===");
+            plugin.getPluginLogger().debug("Typ: " + entity.getType());
+            plugin.getPluginLogger().debug("Grund: " + event.getSpawnReason());
         }
 
-        plugin.getPluginLogger().debug("=== Mob Spawn ===");
-        plugin.getPluginLogger().debug("Typ: " + entity.getType());
-        plugin.getPluginLogger().debug("Grund: " + event.getSpawnReason());
-
         // Hole Equipment-Liste
         List<MobEquipmentManager.EquipmentEntry> equipment =
                 plugin.getMobEquipmentManager().getEquipment(entity.getType());
@@ -67,7 +69,7 @@ public class MobSpawnListener implements Listener {
             double roll = random.nextDouble() * 100;
             boolean success = roll < entry.getChance();
 
-            if (plugin.getConfig().getBoolean("debug-mode", false)) {
+            if (plugin.getPluginLogger().isDebugEnabled()) {
                 plugin.getPluginLogger().debug("  Equipment: " + entry.getOraxenItemId());
                 plugin.getPluginLogger().debug("    Slot: " + entry.getSlot().getDisplayName());
                 plugin.getPluginLogger().debug("    Chance: " + entry.getChance() + "%");
@@ -1,11 +1,14 @@
 package de.questplugin.managers;
 
 import de.questplugin.OraxenQuestPlugin;
+import de.questplugin.utils.DropMechanics;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.DoubleFunction;
+import java.util.function.Supplier;
 
 /**
  * Basis-Manager mit gemeinsamen Funktionen
@@ -13,7 +16,7 @@ import java.util.List;
 public abstract class BaseManager {
 
     protected final OraxenQuestPlugin plugin;
-    protected boolean debugMode;
+    protected volatile boolean debugMode;
 
     public BaseManager(OraxenQuestPlugin plugin) {
         this.plugin = plugin;
@@ -103,6 +106,26 @@ public abstract class BaseManager {
         return drops;
     }
 
+    /**
+     * Kompiliert Drop-Einträge zu einer unveränderlichen Drop-Tabelle
+     * (Oraxen-Items werden hier einmalig gebaut und danach nur geklont)
+     */
+    protected DropTable compileDropTable(List<DropEntry> entries, BlockDropManager.DropMethod method) {
+        return DropTable.compile(entries, this::buildItem, levelTableFactory(method));
+    }
+
+    /**
+     * Liefert die Level-Tabellen-Factory passend zur Drop-Methode
+     */
+    protected static DoubleFunction<DropMechanics.LevelTable> levelTableFactory(
+            BlockDropManager.DropMethod method) {
+        return switch (method) {
+            case DIMINISHING -> DropMechanics.LevelTable::diminishing;
+            case BONUS_ROLLS -> DropMechanics.LevelTable::bonusRolls;
+            case HYBRID -> DropMechanics.LevelTable::hybrid;
+        };
+    }
+
     // ==================== LOGGING ====================
 
     protected void info(String message) {
@@ -119,6 +142,15 @@ public abstract class BaseManager {
         }
     }
 
+    /**
+     * Lazy Debug-Log - Nachricht wird nur bei debug-mode gebaut
+     */
+    protected void debug(Supplier<String> message) {
+        if (debugMode) {
+            plugin.getLogger().info("[DEBUG] " + message.get());
+        }
+    }
+
     public void setDebugMode(boolean debugMode) {
         this.debugMode = debugMode;
     }
@@ -7,7 +7,6 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -20,11 +19,15 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class BlockDropManager extends BaseManager {
 
-    private final Map<Material, List<DropEntry>> blockDrops = new ConcurrentHashMap<>();
+    // Kompilierte Drop-Tabellen - wird bei Reload atomar ersetzt
+    private volatile Map<Material, DropTable> blockDrops = Collections.emptyMap();
 
     // Config: Welche Drop-Methode verwenden?
     private DropMethod dropMethod = DropMethod.HYBRID; // Standard: Hybrid
 
+    // Config: Erfolge direkt aus Binomialverteilung ziehen statt jeden Roll einzeln
+    private boolean binomialSampling = true;
+
     public enum DropMethod {
         DIMINISHING,    // Logarithmische Reduktion für seltene Items
         BONUS_ROLLS,    // Zusätzliche Würfe statt Chance-Erhöhung
@@ -46,16 +49,19 @@ public class BlockDropManager extends BaseManager {
             warn("Ungültige drop-method: " + methodStr + ", nutze HYBRID");
             dropMethod = DropMethod.HYBRID;
         }
+
+        binomialSampling = plugin.getConfig().getBoolean("drop-mechanics.binomial-sampling", true);
     }
 
     private void loadBlockDrops() {
         ConfigurationSection section = plugin.getConfig().getConfigurationSection("block-drops");
         if (section == null) {
             warn("Keine block-drops Sektion in Config!");
+            blockDrops = Collections.emptyMap();
             return;
         }
 
-        blockDrops.clear();
+        Map<Material, DropTable> compiled = new EnumMap<>(Material.class);
         int totalDrops = 0;
         int invalidBlocks = 0;
 
@@ -67,9 +73,11 @@ public class BlockDropManager extends BaseManager {
                         "block-drops." + blockType
                 );
 
-                if (!drops.isEmpty()) {
-                    blockDrops.put(material, drops);
-                    totalDrops += drops.size();
+                DropTable table = compileDropTable(drops, dropMethod);
+
+                if (!table.isEmpty()) {
+                    compiled.put(material, table);
+                    totalDrops += table.size();
 
                     debug("Block-Drops: " + material + " → " + drops.size() + " Items");
                     for (DropEntry entry : drops) {
@@ -87,7 +95,9 @@ public class BlockDropManager extends BaseManager {
             }
         }
 
-        info("Block-Drops: " + totalDrops + " Items für " + blockDrops.size() + " Blöcke" +
+        blockDrops = Collections.unmodifiableMap(compiled);
+
+        info("Block-Drops: " + totalDrops + " Items für " + compiled.size() + " Blöcke" +
                 (invalidBlocks > 0 ? " (" + invalidBlocks + " ungültig)" : ""));
     }
 
@@ -122,157 +132,76 @@ public class BlockDropManager extends BaseManager {
      * Holt Drops für einen Block mit Fortune-Level
      */
     public List<ItemStack> getDrops(Material material, int fortuneLevel) {
-        List<DropEntry> entries = blockDrops.get(material);
+        DropTable table = blockDrops.get(material);
 
-        debug("getBlockDrops(" + material + ", Fortune=" + fortuneLevel + ")");
-        debug("  Methode: " + dropMethod);
-        debug("  Einträge: " + (entries != null ? entries.size() : 0));
+        if (debugMode) {
+            debug("getBlockDrops(" + material + ", Fortune=" + fortuneLevel + ")");
+            debug("  Methode: " + dropMethod);
+            debug("  Einträge: " + (table != null ? table.size() : 0));
+        }
 
-        if (entries == null || entries.isEmpty()) {
+        if (table == null || table.isEmpty()) {
             debug("  → KEINE Drops konfiguriert");
             return Collections.emptyList();
         }
 
-        return processDrops(entries, fortuneLevel);
+        return processDrops(table, fortuneLevel);
     }
 
     /**
      * Verarbeitet Drops mit neuer Mechanik
+     *
+     * Zero-Drop-Test und bedingtes Würfeln in DropTable.sampleHits -
+     * unabhängig von binomial-sampling und Enchant-Level.
      */
-    private List<ItemStack> processDrops(List<DropEntry> entries, int fortuneLevel) {
-        List<ItemStack> drops = new ArrayList<>();
+    private List<ItemStack> processDrops(DropTable table, int fortuneLevel) {
         ThreadLocalRandom random = ThreadLocalRandom.current();
 
-        for (DropEntry entry : entries) {
-            debug("  Drop: " + entry.oraxenItemId + " (Base: " + entry.chance + "%)");
+        int[] hits = table.sampleHits(fortuneLevel, random, binomialSampling);
+        if (hits == null) {
+            debug("  → Zero-Drop-Test: keine Drops");
+            return Collections.emptyList();
+        }
 
-            boolean dropped = false;
-            int amount = 0;
+        List<ItemStack> drops = new ArrayList<>();
+        List<DropTable.CompiledDrop> compiledDrops = table.getDrops();
 
-            // Wähle Drop-Methode
-            switch (dropMethod) {
-                case DIMINISHING:
-                    dropped = rollDiminishing(entry.chance, fortuneLevel, random);
-                    if (dropped) {
-                        amount = DropMechanics.calculateDropAmount(
-                                entry.minAmount, entry.maxAmount, fortuneLevel);
-                    }
-                    break;
-
-                case BONUS_ROLLS:
-                    amount = rollBonusRolls(entry.chance, fortuneLevel,
-                            entry.minAmount, entry.maxAmount, random);
-                    dropped = amount > 0;
-                    break;
-
-                case HYBRID:
-                    amount = rollHybrid(entry.chance, fortuneLevel,
-                            entry.minAmount, entry.maxAmount, random);
-                    dropped = amount > 0;
-                    break;
+        for (int i = 0; i < compiledDrops.size(); i++) {
+            DropTable.CompiledDrop compiled = compiledDrops.get(i);
+            DropEntry entry = compiled.entry;
+            int successes = hits[i];
+
+            if (debugMode) {
+                debug("  Drop: " + entry.oraxenItemId + " (Base: " + entry.chance + "%) → " +
+                        successes + "/" + compiled.levels.rolls(fortuneLevel) + " Treffer @ " +
+                        String.format("%.3f%%", compiled.levels.chancePerRoll(fortuneLevel)));
             }
 
-            if (dropped && amount > 0) {
-                ItemStack item = buildItem(entry.oraxenItemId);
-                if (item != null) {
-                    item.setAmount(amount);
-                    drops.add(item);
-                    debug("    ✓ ERFOLG: " + item.getType() + " x" + amount);
+            int amount = 0;
+            if (successes > 0) {
+                if (dropMethod == DropMethod.DIMINISHING) {
+                    amount = DropMechanics.calculateDropAmount(
+                            entry.minAmount, entry.maxAmount, fortuneLevel);
+                } else {
+                    for (int s = 0; s < successes; s++) {
+                        amount += random.nextInt(entry.minAmount, entry.maxAmount + 1);
+                    }
                 }
-            } else {
-                debug("    ✗ MISS");
             }
-        }
-
-        debug("  TOTAL: " + drops.size() + " Drops");
-        return drops;
-    }
-
-    /**
-     * METHODE 1: Diminishing Returns
-     */
-    private boolean rollDiminishing(double baseChance, int fortuneLevel, ThreadLocalRandom random) {
-        double finalChance = DropMechanics.calculateDropChance(baseChance, fortuneLevel);
-        double roll = random.nextDouble() * 100;
-
-        if (debugMode) {
-            debug("    Diminishing: " + baseChance + "% → " +
-                    String.format("%.3f%%", finalChance) +
-                    " | Roll: " + String.format("%.3f", roll));
-        }
-
-        return roll < finalChance;
-    }
-
-    /**
-     * METHODE 2: Bonus Rolls
-     */
-    private int rollBonusRolls(double baseChance, int fortuneLevel,
-                               int minAmount, int maxAmount, ThreadLocalRandom random) {
-        var result = DropMechanics.calculateBonusRolls(baseChance, fortuneLevel);
-
-        if (debugMode) {
-            debug("    Bonus Rolls: " + result);
-        }
-
-        int totalAmount = 0;
-
-        // Würfle für jeden Roll
-        for (int i = 0; i < result.rolls; i++) {
-            double roll = random.nextDouble() * 100;
-
-            if (roll < result.chancePerRoll) {
-                int amount = random.nextInt(minAmount, maxAmount + 1);
-                totalAmount += amount;
 
+            if (amount > 0) {
+                ItemStack item = compiled.createItem(amount);
+                drops.add(item);
                 if (debugMode) {
-                    debug("      Roll " + (i + 1) + ": " +
-                            String.format("%.3f < %.3f", roll, result.chancePerRoll) +
-                            " → +" + amount);
+                    debug("    ✓ ERFOLG: " + item.getType() + " x" + amount);
                 }
-            } else if (debugMode) {
-                debug("      Roll " + (i + 1) + ": " +
-                        String.format("%.3f >= %.3f", roll, result.chancePerRoll) +
-                        " → Miss");
             }
         }
 
-        return totalAmount;
-    }
-
-    /**
-     * METHODE 3: Hybrid
-     */
-    private int rollHybrid(double baseChance, int fortuneLevel,
-                           int minAmount, int maxAmount, ThreadLocalRandom random) {
-        var result = DropMechanics.calculateHybridDrop(baseChance, fortuneLevel);
-
         if (debugMode) {
-            debug("    Hybrid: " + result);
+            debug("  TOTAL: " + drops.size() + " Drops");
         }
-
-        int totalAmount = 0;
-
-        for (int i = 0; i < result.rolls; i++) {
-            double roll = random.nextDouble() * 100;
-
-            if (roll < result.chancePerRoll) {
-                int amount = random.nextInt(minAmount, maxAmount + 1);
-                totalAmount += amount;
-
-                if (debugMode) {
-                    debug("      Roll " + (i + 1) + ": " +
-                            String.format("%.3f < %.3f", roll, result.chancePerRoll) +
-                            " → +" + amount);
-                }
-            } else if (debugMode) {
-                debug("      Roll " + (i + 1) + ": " +
-                        String.format("%.3f >= %.3f", roll, result.chancePerRoll) +
-                        " → Miss");
-            }
-        }
-
-        return totalAmount;
+        return drops;
     }
 
     /**
@@ -280,6 +209,13 @@ public class BlockDropManager extends BaseManager {
      */
     public void setDropMethod(DropMethod method) {
         this.dropMethod = method;
+
+        // Nur Level-Tabellen neu berechnen, Item-Prototypen bleiben
+        Map<Material, DropTable> rebuilt = new EnumMap<>(Material.class);
+        blockDrops.forEach((key, table) ->
+                rebuilt.put(key, table.withLevelTables(levelTableFactory(method))));
+        blockDrops = Collections.unmodifiableMap(rebuilt);
+
         info("Drop-Methode geändert zu: " + method);
     }
 
@@ -289,7 +225,6 @@ public class BlockDropManager extends BaseManager {
 
     @Override
     public void reload() {
-        blockDrops.clear();
         debugMode = plugin.getConfig().getBoolean("debug-mode", false);
         loadConfig();
         loadBlockDrops();
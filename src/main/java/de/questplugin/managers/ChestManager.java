@@ -3,12 +3,22 @@ package de.questplugin.managers;
 import de.questplugin.OraxenQuestPlugin;
 import de.questplugin.enums.StructureType;
 import de.questplugin.utils.StructureHelper;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
 import org.bukkit.block.Chest;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.loot.LootTable;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,24 +26,33 @@ import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Verwaltet Chest-Loot
+ *
+ * Verarbeitete Kisten werden im Chunk-PDC markiert (sortiertes int[] der
+ * Positionen im Chunk) - der Zustand wird mit dem Chunk geladen/gespeichert,
+ * ohne globales Limit und ohne eigene Datei-I/O.
+ *
+ * Alt-Daten (chests.dat) wandern chunkweise beim Chunk-Load ins PDC. Sind
+ * alle übernommen, wird chests.dat gelöscht. Kisten in Chunks/Welten die
+ * nie mehr geladen werden bleiben bis dahin in chests.dat.
  */
-public class ChestManager extends BaseManager {
+public class ChestManager extends BaseManager implements Listener {
 
-    private final Set<Location> processedChests = ConcurrentHashMap.newKeySet();
+    private final NamespacedKey processedKey;
     private final Map<String, List<DropEntry>> lootCache = new ConcurrentHashMap<>();
-    private final Queue<Location> processedQueue = new LinkedList<>();
 
-    private static final int MAX_PROCESSED_CHESTS = 10000;
-    private static final int SAVE_INTERVAL = 50;
+    // Alt-Daten (chests.dat/data.yml) pro Chunk - null sobald alle im Chunk-PDC sind
+    private LegacyChestIndex legacyChests;
 
     private volatile boolean isLoaded = false;
-    private int saveCounter = 0;
 
     public ChestManager(OraxenQuestPlugin plugin) {
         super(plugin);
+        this.processedKey = new NamespacedKey(plugin.getName().toLowerCase(), "processed_chests");
         loadChestLoots();
-        loadProcessedChests();
+        loadLegacyChests();
         isLoaded = true;
+
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
     private void loadChestLoots() {
@@ -63,44 +82,118 @@ public class ChestManager extends BaseManager {
         info("Chest-Loot: " + totalItems + " Items für " + lootCache.size() + " Strukturen");
     }
 
-    private void loadProcessedChests() {
-        Set<Location> loaded = plugin.getDataManager().loadProcessedChests();
+    private void loadLegacyChests() {
+        Set<Location> loaded = plugin.getDataManager().loadLegacyProcessedChests();
+        if (loaded.isEmpty()) {
+            legacyChests = null;
+            return;
+        }
 
-        if (loaded.size() > MAX_PROCESSED_CHESTS) {
-            warn("Zu viele Kisten (" + loaded.size() + "), limitiere auf " + MAX_PROCESSED_CHESTS);
-            List<Location> sorted = new ArrayList<>(loaded);
-            loaded = new HashSet<>(sorted.subList(sorted.size() - MAX_PROCESSED_CHESTS, sorted.size()));
+        legacyChests = new LegacyChestIndex(loaded, ChestManager::packLocal);
+        info(legacyChests.size() + " verarbeitete Kisten aus Alt-Daten (Migration ins Chunk-PDC beim Chunk-Load)");
+
+        // Bereits geladene Chunks sofort übernehmen
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                migrateLegacy(chunk);
+            }
         }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        migrateLegacy(event.getChunk());
+    }
 
-        processedChests.addAll(loaded);
-        processedQueue.addAll(loaded);
+    /**
+     * Übernimmt die Alt-Kisten eines Chunks ins Chunk-PDC
+     */
+    private void migrateLegacy(Chunk chunk) {
+        LegacyChestIndex legacy = legacyChests;
+        if (legacy == null) {
+            return;
+        }
 
-        info(processedChests.size() + " verarbeitete Kisten geladen");
+        String world = chunk.getWorld().getName();
+        int[] positions = legacy.removeChunk(world, chunk.getX(), chunk.getZ());
+        if (positions == null) {
+            return;
+        }
+
+        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+        int[] marks = pdc.get(processedKey, PersistentDataType.INTEGER_ARRAY);
+        pdc.set(processedKey, PersistentDataType.INTEGER_ARRAY,
+                marks != null ? mergeSorted(marks, positions) : positions);
+
+        plugin.getDataManager().forgetLegacyChests(world, chunk.getX(), chunk.getZ());
+
+        if (legacy.isEmpty()) {
+            legacyChests = null;
+            info("Alle Alt-Kisten ins Chunk-PDC übernommen - chests.dat wird entfernt");
+        }
+    }
+
+    /**
+     * Vereinigung zweier sortierter int[] ohne Duplikate
+     */
+    private static int[] mergeSorted(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            merged[n++] = next;
+        }
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
     }
 
     public boolean isProcessed(Location location) {
-        return processedChests.contains(location);
+        int[] marks = location.getChunk().getPersistentDataContainer()
+                .get(processedKey, PersistentDataType.INTEGER_ARRAY);
+        // Alt-Daten sind beim Chunk-Load bereits ins PDC gewandert
+        return marks != null && Arrays.binarySearch(marks, packLocal(location)) >= 0;
     }
 
     public void markProcessed(Location location) {
         if (!isLoaded) return;
 
-        if (processedChests.size() >= MAX_PROCESSED_CHESTS && !processedChests.contains(location)) {
-            Location oldest = processedQueue.poll();
-            if (oldest != null) {
-                processedChests.remove(oldest);
-            }
+        Chunk chunk = location.getChunk();
+        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+        int[] marks = pdc.get(processedKey, PersistentDataType.INTEGER_ARRAY);
+        int packed = packLocal(location);
+
+        if (marks == null) {
+            marks = new int[0];
         }
 
-        if (processedChests.add(location)) {
-            processedQueue.offer(location);
+        int index = Arrays.binarySearch(marks, packed);
+        if (index >= 0) return;
 
-            saveCounter++;
-            if (saveCounter >= SAVE_INTERVAL) {
-                saveData();
-                saveCounter = 0;
-            }
-        }
+        // Sortiert einfügen
+        int insert = -index - 1;
+        int[] updated = new int[marks.length + 1];
+        System.arraycopy(marks, 0, updated, 0, insert);
+        updated[insert] = packed;
+        System.arraycopy(marks, insert, updated, insert + 1, marks.length - insert);
+
+        pdc.set(processedKey, PersistentDataType.INTEGER_ARRAY, updated);
+    }
+
+    /**
+     * Position im Chunk: [localX 4][localZ 4][y 12] Bit
+     */
+    private static int packLocal(Location location) {
+        return (location.getBlockX() & 15) << 16
+                | (location.getBlockZ() & 15) << 12
+                | ((location.getBlockY() + 2048) & 0xFFF);
     }
 
     public void populateChest(Chest chest, LootTable lootTable) {
@@ -111,8 +204,10 @@ public class ChestManager extends BaseManager {
 
         String lootTableKey = lootTable.getKey().getKey();
 
-        debug("=== Chest Populate ===");
-        debug("LootTable: " + lootTableKey);
+        if (debugMode) {
+            debug("=== Chest Populate ===");
+            debug("LootTable: " + lootTableKey);
+        }
 
         List<DropEntry> loots = findMatchingLoots(lootTableKey);
 
@@ -122,7 +217,9 @@ public class ChestManager extends BaseManager {
             return;
         }
 
-        debug("  → " + loots.size() + " Loots gefunden");
+        if (debugMode) {
+            debug("  → " + loots.size() + " Loots gefunden");
+        }
 
         Inventory inv = chest.getInventory();
         ThreadLocalRandom random = ThreadLocalRandom.current();
@@ -147,7 +244,9 @@ public class ChestManager extends BaseManager {
                     item.setAmount(amount);
                     drops.add(item);
 
-                    debug("    → " + item.getType() + " x" + amount);
+                    if (debugMode) {
+                        debug("    → " + item.getType() + " x" + amount);
+                    }
                 }
             }
         }
@@ -180,8 +279,10 @@ public class ChestManager extends BaseManager {
     private List<DropEntry> findMatchingLoots(String lootTableKey) {
         String normalized = lootTableKey.toLowerCase();
 
-        debug("  Suche: '" + lootTableKey + "'");
-        debug("  Keys: " + lootCache.keySet());
+        if (debugMode) {
+            debug("  Suche: '" + lootTableKey + "'");
+            debug("  Keys: " + lootCache.keySet());
+        }
 
         // 1. Direct Match
         if (lootCache.containsKey(normalized)) {
@@ -191,7 +292,9 @@ public class ChestManager extends BaseManager {
 
         // 2. Extrahierter Name
         String extracted = extractStructureName(normalized);
-        debug("  Extrahiert: '" + extracted + "'");
+        if (debugMode) {
+            debug("  Extrahiert: '" + extracted + "'");
+        }
 
         if (lootCache.containsKey(extracted)) {
             debug("  → Match mit extrahiertem Namen");
@@ -201,11 +304,15 @@ public class ChestManager extends BaseManager {
         // 3. StructureType Match
         StructureType structureType = StructureHelper.fromString(extracted);
         if (structureType != null) {
-            debug("  StructureType: " + structureType);
+            if (debugMode) {
+                debug("  StructureType: " + structureType);
+            }
 
             for (Map.Entry<String, List<DropEntry>> entry : lootCache.entrySet()) {
                 if (StructureHelper.matchesStructure(entry.getKey(), structureType)) {
-                    debug("  → StructureType Match: '" + entry.getKey() + "'");
+                    if (debugMode) {
+                        debug("  → StructureType Match: '" + entry.getKey() + "'");
+                    }
                     return entry.getValue();
                 }
             }
@@ -217,12 +324,16 @@ public class ChestManager extends BaseManager {
             String configKey = entry.getKey();
 
             if (extracted.contains(configKey)) {
-                debug("  → Partial: '" + extracted + "' contains '" + configKey + "'");
+                if (debugMode) {
+                    debug("  → Partial: '" + extracted + "' contains '" + configKey + "'");
+                }
                 return entry.getValue();
             }
 
             if (configKey.contains(extracted)) {
-                debug("  → Reverse: '" + configKey + "' contains '" + extracted + "'");
+                if (debugMode) {
+                    debug("  → Reverse: '" + configKey + "' contains '" + extracted + "'");
+                }
                 return entry.getValue();
             }
         }
@@ -247,26 +358,15 @@ public class ChestManager extends BaseManager {
         return name;
     }
 
-    public void saveData() {
-        try {
-            plugin.getDataManager().saveProcessedChests(processedChests);
-        } catch (Exception e) {
-            warn("Speichern fehlgeschlagen: " + e.getMessage());
-        }
-    }
-
     @Override
     public void reload() {
         isLoaded = false;
 
-        processedChests.clear();
-        processedQueue.clear();
         lootCache.clear();
-        saveCounter = 0;
 
         debugMode = plugin.getConfig().getBoolean("debug-mode", false);
         loadChestLoots();
-        loadProcessedChests();
+        loadLegacyChests();
 
         isLoaded = true;
         info("ChestManager neu geladen");
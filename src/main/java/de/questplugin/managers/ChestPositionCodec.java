@@ -0,0 +1,144 @@
+package de.questplugin.managers;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binärformat für verarbeitete Kisten (chests.dat)
+ *
+ * - int Magic, byte Version
+ * - Welt-Dictionary: Anzahl + UTF-Namen
+ * - pro Welt: Anzahl + aufsteigend sortierte Positionen als
+ *   Delta-VarLongs
+ *
+ * Position = [chunkX 22][chunkZ 22][localX 4][localZ 4][y 12] Bit
+ * (vorzeichenlos sortiert) - Kisten eines Chunks liegen nebeneinander,
+ * Deltas innerhalb eines Chunks passen meist in 1-2 Bytes.
+ */
+final class ChestPositionCodec {
+
+    private static final int MAGIC = 0x4F514348; // "OQCH"
+    private static final byte VERSION = 1;
+
+    private static final int CHUNK_OFFSET = 1 << 21;
+    private static final int CHUNK_MASK = (1 << 22) - 1;
+    private static final int Y_OFFSET = 1 << 11;
+    private static final int Y_MASK = (1 << 12) - 1;
+
+    private ChestPositionCodec() {
+    }
+
+    static void write(DataOutput out, Collection<DataManager.ChestKey> chests) throws IOException {
+        // Welt → gepackte Positionen
+        Map<String, long[]> byWorld = new LinkedHashMap<>();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (DataManager.ChestKey key : chests) {
+            counts.merge(key.world(), 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            byWorld.put(entry.getKey(), new long[entry.getValue()]);
+        }
+
+        Map<String, Integer> fill = new LinkedHashMap<>();
+        for (DataManager.ChestKey key : chests) {
+            int index = fill.merge(key.world(), 1, Integer::sum) - 1;
+            byWorld.get(key.world())[index] = pack(key.x(), key.y(), key.z());
+        }
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+
+        out.writeInt(byWorld.size());
+        for (String world : byWorld.keySet()) {
+            out.writeUTF(world);
+        }
+
+        for (long[] positions : byWorld.values()) {
+            // Vorzeichenlos sortieren (oberstes Bit kann gesetzt sein)
+            for (int i = 0; i < positions.length; i++) positions[i] ^= Long.MIN_VALUE;
+            Arrays.sort(positions);
+            for (int i = 0; i < positions.length; i++) positions[i] ^= Long.MIN_VALUE;
+
+            out.writeInt(positions.length);
+            long previous = 0;
+            for (long position : positions) {
+                writeVarLong(out, position - previous);
+                previous = position;
+            }
+        }
+    }
+
+    /**
+     * @return Kisten in Datei-Reihenfolge (Welt, dann Chunk)
+     */
+    static List<DataManager.ChestKey> read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Kein chests.dat-Format");
+        }
+        if (in.readByte() != VERSION) {
+            throw new IOException("Unbekannte chests.dat-Version");
+        }
+
+        String[] worlds = new String[in.readInt()];
+        for (int i = 0; i < worlds.length; i++) {
+            worlds[i] = in.readUTF();
+        }
+
+        List<DataManager.ChestKey> chests = new ArrayList<>();
+        for (String world : worlds) {
+            int count = in.readInt();
+            long position = 0;
+            for (int i = 0; i < count; i++) {
+                position += readVarLong(in);
+                chests.add(unpack(world, position));
+            }
+        }
+        return chests;
+    }
+
+    static long pack(int x, int y, int z) {
+        long chunkX = ((x >> 4) + CHUNK_OFFSET) & CHUNK_MASK;
+        long chunkZ = ((z >> 4) + CHUNK_OFFSET) & CHUNK_MASK;
+        return chunkX << 42
+                | chunkZ << 20
+                | (long) (x & 15) << 16
+                | (long) (z & 15) << 12
+                | ((y + Y_OFFSET) & Y_MASK);
+    }
+
+    private static DataManager.ChestKey unpack(String world, long position) {
+        int chunkX = (int) ((position >>> 42) & CHUNK_MASK) - CHUNK_OFFSET;
+        int chunkZ = (int) ((position >>> 20) & CHUNK_MASK) - CHUNK_OFFSET;
+        int x = (chunkX << 4) | (int) ((position >>> 16) & 15);
+        int z = (chunkZ << 4) | (int) ((position >>> 12) & 15);
+        int y = (int) (position & Y_MASK) - Y_OFFSET;
+        return new DataManager.ChestKey(world, x, y, z);
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarLong zu lang");
+    }
+}
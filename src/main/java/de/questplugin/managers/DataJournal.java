@@ -0,0 +1,210 @@
+package de.questplugin.managers;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only Journal typisierter Mutationen (data.journal)
+ *
+ * Record: [byte Typ][int Länge][Payload]. Records werden beim Ändern
+ * per encode() zu unveränderlichen Byte-Arrays und vom DataWriter
+ * gesammelt über einen FileChannel geschrieben. Ein abgeschnittener
+ * oder defekter Record (Absturz, Plattenfehler) beendet das Replay und
+ * das Journal wird auf den letzten gültigen Record gekürzt.
+ *
+ * Nicht thread-safe - Schreiben nur vom Writer-Thread, open() nur
+ * während der Writer leer ist.
+ */
+final class DataJournal {
+
+    enum Type {
+        QUEST(1),
+        TRACKED_ADD(2),
+        TRACKED_REMOVE(3),
+        // Nur noch Replay alter Journale (Kisten stehen im Chunk-PDC)
+        CHEST_ADD(4),
+        CHEST_REMOVE(5);
+
+        private static final Type[] BY_ID = new Type[8];
+
+        static {
+            for (Type type : values()) {
+                BY_ID[type.id] = type;
+            }
+        }
+
+        final int id;
+
+        Type(int id) {
+            this.id = id;
+        }
+
+        static Type byId(int id) {
+            return id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+        }
+    }
+
+    @FunctionalInterface
+    interface PayloadWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface RecordHandler {
+        void apply(Type type, DataInput in) throws IOException;
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private FileChannel channel;
+
+    DataJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Spielt alle gültigen Records ab und öffnet das Journal zum Anhängen
+     *
+     * Ende des gültigen Logs: abgeschnittener Record, Länge über das
+     * Dateiende hinaus oder Payload das sich nicht dekodieren lässt.
+     * Das Journal wird dort gekürzt. Der Channel ist danach immer offen,
+     * auch wenn das Lesen selbst fehlschlägt (dann ohne Kürzen).
+     *
+     * @return Anzahl abgespielter Records
+     */
+    int open(RecordHandler handler) throws IOException {
+        int records = 0;
+        long validLength = 0;
+        boolean readFailed = true;
+
+        try {
+            if (file.exists()) {
+                long fileLength = file.length();
+
+                try (InputStream stream = new BufferedInputStream(Files.newInputStream(file.toPath()), BUFFER_SIZE);
+                     DataInputStream in = new DataInputStream(stream)) {
+
+                    while (true) {
+                        int typeId;
+                        int length;
+                        try {
+                            typeId = in.readUnsignedByte();
+                            length = in.readInt();
+                        } catch (EOFException end) {
+                            break; // Dateiende bzw. abgeschnittener Header
+                        }
+
+                        // Länge gegen Restdatei prüfen - keine Riesen-Arrays aus Müll
+                        if (length < 0 || length > fileLength - validLength - 5) {
+                            break;
+                        }
+
+                        byte[] data = new byte[length];
+                        in.readFully(data);
+
+                        Type type = Type.byId(typeId);
+                        if (type != null && !apply(handler, type, data)) {
+                            break; // Defektes Payload = Ende des gültigen Logs
+                        }
+
+                        validLength += 1 + 4 + length;
+                        records++;
+                    }
+                }
+            }
+            readFailed = false;
+        } finally {
+            channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            long position = readFailed ? channel.size() : validLength;
+            if (!readFailed) {
+                channel.truncate(validLength);
+            }
+            channel.position(position);
+        }
+        return records;
+    }
+
+    private static boolean apply(RecordHandler handler, Type type, byte[] data) {
+        try {
+            handler.apply(type, new DataInputStream(new ByteArrayInputStream(data)));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Kodiert einen Record (Typ, Länge, Payload) - thread-safe
+     */
+    static byte[] encode(Type type, PayloadWriter writer) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(64);
+        writer.write(new DataOutputStream(payload));
+
+        ByteBuffer record = ByteBuffer.allocate(1 + 4 + payload.size());
+        record.put((byte) type.id);
+        record.putInt(payload.size());
+        record.put(payload.toByteArray());
+        return record.array();
+    }
+
+    /**
+     * Schreibt Records gesammelt ans Dateiende
+     */
+    void write(List<byte[]> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        int total = 0;
+        for (byte[] record : records) {
+            total += record.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (byte[] record : records) {
+            buffer.put(record);
+        }
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Leert das Journal (nach geschriebenem Snapshot)
+     */
+    void truncate() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(false);
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -7,34 +7,80 @@ import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
 /**
- * Verwaltet persistente Daten (data.yml)
+ * Verwaltet persistente Daten (data.yml + data.journal)
  * - Quest-State
  * - Tracked Players
- * - Processed Chests
+ * - Alt-Daten verarbeiteter Kisten (nur lesend, siehe ChestManager)
  *
- * FIX: Verhindert async Tasks während Plugin-Disable
+ * Persistenz: Änderungen werden als typisierte Records an data.journal
+ * angehängt (O(Änderung) pro Save). data.yml ist nur noch der Snapshot,
+ * in den das Journal ab JOURNAL_COMPACT_BYTES bzw. beim Shutdown
+ * kompaktiert wird. Laden = Snapshot + Replay des Journals.
+ *
+ * Verarbeitete Kisten stehen inzwischen im Chunk-PDC. chests.dat (bzw.
+ * chests.processed in data.yml) und CHEST-Records im Journal werden nur
+ * noch gelesen. chests.dat schrumpft mit jedem ins PDC migrierten Chunk
+ * (forgetLegacyChests) und wird gelöscht sobald es leer ist.
+ *
+ * Threading: Der Zustand gehört dem DataManager (synchronized). An den
+ * DataWriter gehen nur kodierte Records und unveränderliche Snapshots -
+ * sämtliche Datei-I/O läuft auf dessen einzigem Thread. flush() ist die
+ * Barriere - blockierend nur in onDisable, Reload und Backup warten
+ * außerhalb des Main-Threads.
  */
 public class DataManager {
 
     private final OraxenQuestPlugin plugin;
     private final File dataFile;
-    private FileConfiguration data;
-
-    // Performance: Verhindere excessive Saves
-    private volatile boolean saveScheduled = false;
-    private volatile boolean pluginDisabling = false; // NEU
-    private static final long SAVE_DELAY_TICKS = 100L; // 5 Sekunden
+    private final File chestFile;
+    private final DataJournal journal;
+    private final DataWriter writer;
+
+    // ==================== ZUSTAND ====================
+
+    private String questRequiredItem;
+    private String questRewardItem;
+    private double questMoneyReward;
+    private Long questStartTime;
+    private Long questNextAvailable;
+    private String lastPlayerUUID;
+    private final Set<UUID> trackedPlayers = new LinkedHashSet<>();
+    // Alt-Daten, nach dem Laden unverändert
+    private final Set<ChestKey> legacyChests = new LinkedHashSet<>();
+    // Alt-Daten noch nicht (vollständig) in chests.dat
+    private boolean legacyDirty;
+
+    // Journal-Bytes seit dem letzten Snapshot
+    private long journalBytes;
+    private volatile boolean pluginDisabling = false;
+    private static final long JOURNAL_COMPACT_BYTES = 512 * 1024;
+    private static final long FLUSH_TIMEOUT_MS = 10_000;
 
     public DataManager(OraxenQuestPlugin plugin) {
         this.plugin = plugin;
         this.dataFile = new File(plugin.getDataFolder(), "data.yml");
+        this.chestFile = new File(plugin.getDataFolder(), "chests.dat");
+        this.journal = new DataJournal(new File(plugin.getDataFolder(), "data.journal"));
         setupDataFile();
+        load();
+        this.writer = new DataWriter(journal, plugin.getPluginLogger());
     }
 
     /**
@@ -54,251 +100,440 @@ public class DataManager {
                 e.printStackTrace();
             }
         }
-
-        data = YamlConfiguration.loadConfiguration(dataFile);
     }
 
     /**
-     * Speichert Daten synchron
+     * Lädt Snapshot und spielt das Journal darüber ab
      */
-    public void save() {
+    private synchronized void load() {
+        FileConfiguration data = YamlConfiguration.loadConfiguration(dataFile);
+        readSnapshot(data);
+        readChests(data);
+
         try {
-            data.save(dataFile);
+            journal.close();
+            int replayed = journal.open(this::applyRecord);
+            journalBytes = journal.size();
+            if (replayed > 0) {
+                plugin.getPluginLogger().info("data.journal: " + replayed + " Änderungen übernommen");
+            }
         } catch (IOException e) {
-            plugin.getPluginLogger().severe("Fehler beim Speichern von data.yml: " + e.getMessage());
+            plugin.getPluginLogger().severe("Fehler beim Lesen von data.journal: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    private void readSnapshot(FileConfiguration data) {
+        questRequiredItem = data.getString("quest.current.required-item");
+        questRewardItem = data.getString("quest.current.reward-item");
+        questMoneyReward = data.getDouble("quest.current.money-reward", 0.0);
+        questStartTime = data.contains("quest.start-time") ? data.getLong("quest.start-time") : null;
+        questNextAvailable = data.contains("quest.next-available") ? data.getLong("quest.next-available") : null;
+        lastPlayerUUID = data.getString("quest.last-player-uuid");
+
+        trackedPlayers.clear();
+        for (String uuidString : data.getStringList("quest.tracked-players")) {
+            try {
+                trackedPlayers.add(UUID.fromString(uuidString));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Ungültige UUID in tracked-players: " + uuidString);
+            }
+        }
+    }
+
     /**
-     * Speichert Daten asynchron (Performance)
-     * WICHTIG: Nur wenn Plugin NICHT deaktiviert wird!
+     * Liest chests.dat - fehlt die Datei, wird die alte Liste
+     * chests.processed aus data.yml übernommen (nach chests.dat beim nächsten Snapshot)
      */
-    public void saveAsync() {
-        // FIX: Kein async wenn Plugin disabled wird
-        if (pluginDisabling) {
-            save(); // Synchron speichern
-            return;
+    private void readChests(FileConfiguration data) {
+        legacyChests.clear();
+        legacyDirty = false;
+
+        if (chestFile.exists()) {
+            try (InputStream stream = new BufferedInputStream(Files.newInputStream(chestFile.toPath()), 64 * 1024)) {
+                legacyChests.addAll(ChestPositionCodec.read(new DataInputStream(stream)));
+                return;
+            } catch (IOException e) {
+                plugin.getPluginLogger().severe("Fehler beim Lesen von chests.dat: " + e.getMessage());
+                legacyChests.clear();
+            }
         }
 
-        if (saveScheduled) {
-            return; // Bereits ein Save geplant
+        for (String locString : data.getStringList("chests.processed")) {
+            ChestKey key = ChestKey.parse(locString);
+            if (key != null) {
+                legacyChests.add(key);
+                legacyDirty = true;
+            } else {
+                plugin.getLogger().warning("Ungültiges Location-Format: " + locString);
+            }
         }
+    }
 
-        saveScheduled = true;
+    private void applyRecord(DataJournal.Type type, DataInput in) throws IOException {
+        switch (type) {
+            case QUEST -> {
+                // Erst komplett lesen - defektes Payload ändert nichts
+                String requiredItem = readNullableUTF(in);
+                String rewardItem = readNullableUTF(in);
+                double moneyReward = in.readDouble();
+                long startTime = in.readLong();
+                long nextAvailable = in.readLong();
+                String lastPlayer = readNullableUTF(in);
+
+                questRequiredItem = requiredItem;
+                questRewardItem = rewardItem;
+                questMoneyReward = moneyReward;
+                questStartTime = startTime;
+                questNextAvailable = nextAvailable;
+                lastPlayerUUID = lastPlayer;
+            }
+            case TRACKED_ADD -> trackedPlayers.add(new UUID(in.readLong(), in.readLong()));
+            case TRACKED_REMOVE -> trackedPlayers.remove(new UUID(in.readLong(), in.readLong()));
+            case CHEST_ADD -> legacyDirty |= legacyChests.add(ChestKey.read(in));
+            case CHEST_REMOVE -> legacyDirty |= legacyChests.remove(ChestKey.read(in));
+        }
+    }
 
-        Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-            save();
-            saveScheduled = false;
-        }, SAVE_DELAY_TICKS);
+    /**
+     * Speichert Daten (Snapshot nach data.yml, ohne auf den Writer zu warten)
+     *
+     * Wer die Datei auf der Platte braucht: saveAsyncFuture()
+     */
+    public synchronized void save() {
+        publishSnapshot();
+    }
+
+    /**
+     * Wartet bis alle bisherigen Änderungen auf der Platte sind
+     *
+     * @return false bei Timeout
+     */
+    public boolean flush() {
+        return writer.flush(FLUSH_TIMEOUT_MS);
+    }
+
+    /**
+     * Übergibt einen unveränderlichen Snapshot an den Writer (Kompaktierung)
+     */
+    private void publishSnapshot() {
+        DataSnapshot snapshot = captureSnapshot();
+        List<DataWriter.SnapshotFile> files = new ArrayList<>(2);
+
+        // Alt-Daten sichern - chests.dat vor data.yml ohne chests.processed,
+        // nach vollständiger Migration ins Chunk-PDC wird chests.dat gelöscht
+        if (legacyDirty) {
+            List<ChestKey> chests = List.copyOf(legacyChests);
+            files.add(new DataWriter.SnapshotFile(chestFile,
+                    chests.isEmpty() ? null : out -> writeChests(out, chests)));
+            legacyDirty = false;
+        }
+        files.add(new DataWriter.SnapshotFile(dataFile, snapshot::writeYaml));
+
+        writer.snapshot(files);
+        journalBytes = 0;
+    }
+
+    private DataSnapshot captureSnapshot() {
+        return new DataSnapshot(questRequiredItem, questRewardItem, questMoneyReward,
+                questStartTime, questNextAvailable, lastPlayerUUID,
+                List.copyOf(trackedPlayers));
+    }
+
+    /**
+     * Speichert Daten asynchron (Snapshot, ohne zu warten)
+     */
+    public void saveAsync() {
+        save();
     }
 
     /**
      * Speichert Daten als CompletableFuture
+     *
+     * @return true sobald alles auf der Platte ist, false bei Writer-Timeout
      */
-    public CompletableFuture<Void> saveAsyncFuture() {
-        return CompletableFuture.runAsync(() -> save());
+    public CompletableFuture<Boolean> saveAsyncFuture() {
+        saveAsync();
+        return CompletableFuture.supplyAsync(this::flush);
     }
 
     /**
      * Markiert dass Plugin disabled wird
-     * Ab jetzt nur noch synchrone Saves!
+     * Ab jetzt wird jede Änderung sofort geschrieben
      */
     public void setDisabling() {
         this.pluginDisabling = true;
     }
 
+    /**
+     * Kodiert eine Änderung und übergibt sie an den Writer (Aufrufer hält den Lock)
+     */
+    private void append(DataJournal.Type type, DataJournal.PayloadWriter payload) {
+        byte[] record;
+        try {
+            record = DataJournal.encode(type, payload);
+        } catch (IOException e) {
+            plugin.getPluginLogger().severe("Fehler beim Kodieren von data.journal: " + e.getMessage());
+            return;
+        }
+
+        writer.append(record);
+        journalBytes += record.length;
+
+        if (journalBytes >= JOURNAL_COMPACT_BYTES) {
+            publishSnapshot();
+        }
+        if (pluginDisabling) {
+            flush();
+        }
+    }
+
     // ==================== QUEST DATEN ====================
 
     /**
      * Speichert Quest-Daten
      */
-    public void saveQuestData(String requiredItem, String rewardItem, double moneyReward,
-                              long startTime, long nextAvailable, String lastPlayerUUID) {
-        data.set("quest.current.required-item", requiredItem);
-        data.set("quest.current.reward-item", rewardItem);
-        data.set("quest.current.money-reward", moneyReward);
-        data.set("quest.start-time", startTime);
-        data.set("quest.next-available", nextAvailable);
-        data.set("quest.last-player-uuid", lastPlayerUUID);
-
-        // FIX: Prüfe ob Plugin disabled wird
-        if (pluginDisabling) {
-            save(); // Synchron
-        } else {
-            saveAsync(); // Asynchron nur wenn Plugin läuft
+    public synchronized void saveQuestData(String requiredItem, String rewardItem, double moneyReward,
+                                           long startTime, long nextAvailable, String lastPlayerUUID) {
+        if (Objects.equals(requiredItem, questRequiredItem) &&
+                Objects.equals(rewardItem, questRewardItem) &&
+                moneyReward == questMoneyReward &&
+                Objects.equals(startTime, questStartTime) &&
+                Objects.equals(nextAvailable, questNextAvailable) &&
+                Objects.equals(lastPlayerUUID, this.lastPlayerUUID)) {
+            return; // Unverändert
         }
+
+        this.questRequiredItem = requiredItem;
+        this.questRewardItem = rewardItem;
+        this.questMoneyReward = moneyReward;
+        this.questStartTime = startTime;
+        this.questNextAvailable = nextAvailable;
+        this.lastPlayerUUID = lastPlayerUUID;
+
+        append(DataJournal.Type.QUEST, out -> {
+            writeNullableUTF(out, requiredItem);
+            writeNullableUTF(out, rewardItem);
+            out.writeDouble(moneyReward);
+            out.writeLong(startTime);
+            out.writeLong(nextAvailable);
+            writeNullableUTF(out, lastPlayerUUID);
+        });
     }
 
-    public String getQuestRequiredItem() {
-        return data.getString("quest.current.required-item");
+    public synchronized String getQuestRequiredItem() {
+        return questRequiredItem;
     }
 
-    public String getQuestRewardItem() {
-        return data.getString("quest.current.reward-item");
+    public synchronized String getQuestRewardItem() {
+        return questRewardItem;
     }
 
-    public double getQuestMoneyReward() {
-        return data.getDouble("quest.current.money-reward", 0.0);
+    public synchronized double getQuestMoneyReward() {
+        return questMoneyReward;
     }
 
-    public long getQuestStartTime() {
-        return data.getLong("quest.start-time", System.currentTimeMillis());
+    public synchronized long getQuestStartTime() {
+        return questStartTime != null ? questStartTime : System.currentTimeMillis();
     }
 
-    public long getNextQuestAvailable() {
-        return data.getLong("quest.next-available", System.currentTimeMillis());
+    public synchronized long getNextQuestAvailable() {
+        return questNextAvailable != null ? questNextAvailable : System.currentTimeMillis();
     }
 
-    public String getLastCompletedPlayerUUID() {
-        return data.getString("quest.last-player-uuid", "");
+    public synchronized String getLastCompletedPlayerUUID() {
+        return lastPlayerUUID != null ? lastPlayerUUID : "";
     }
 
     // ==================== TRACKED PLAYERS ====================
 
     /**
-     * Speichert getrackte Spieler
+     * Speichert getrackte Spieler (nur Differenz wird ins Journal geschrieben)
      */
-    public void saveTrackedPlayers(Set<UUID> players) {
-        List<String> uuidStrings = new ArrayList<>(players.size());
-        for (UUID uuid : players) {
-            uuidStrings.add(uuid.toString());
+    public synchronized void saveTrackedPlayers(Set<UUID> players) {
+        Set<UUID> snapshot = new HashSet<>(players);
+
+        for (Iterator<UUID> it = trackedPlayers.iterator(); it.hasNext(); ) {
+            UUID uuid = it.next();
+            if (!snapshot.contains(uuid)) {
+                it.remove();
+                append(DataJournal.Type.TRACKED_REMOVE, out -> writeUUID(out, uuid));
+            }
         }
-        data.set("quest.tracked-players", uuidStrings);
-
-        // FIX: Prüfe ob Plugin disabled wird
-        if (pluginDisabling) {
-            save(); // Synchron
-        } else {
-            saveAsync();
+        for (UUID uuid : snapshot) {
+            addTrackedPlayer(uuid);
         }
     }
 
     /**
-     * Lädt getrackte Spieler
+     * Fügt einen getrackten Spieler hinzu (ein Journal-Record)
      */
-    public Set<UUID> loadTrackedPlayers() {
-        Set<UUID> players = new HashSet<>();
-        List<String> uuidStrings = data.getStringList("quest.tracked-players");
-
-        for (String uuidString : uuidStrings) {
-            try {
-                players.add(UUID.fromString(uuidString));
-            } catch (IllegalArgumentException e) {
-                plugin.getLogger().warning("Ungültige UUID in tracked-players: " + uuidString);
-            }
+    public synchronized void addTrackedPlayer(UUID uuid) {
+        if (trackedPlayers.add(uuid)) {
+            append(DataJournal.Type.TRACKED_ADD, out -> writeUUID(out, uuid));
         }
-
-        return players;
     }
 
-    // ==================== PROCESSED CHESTS ====================
-
     /**
-     * Speichert verarbeitete Kisten
+     * Lädt getrackte Spieler
      */
-    public void saveProcessedChests(Set<Location> chests) {
-        List<String> locationStrings = new ArrayList<>(chests.size());
+    public synchronized Set<UUID> loadTrackedPlayers() {
+        return new HashSet<>(trackedPlayers);
+    }
 
-        for (Location loc : chests) {
-            if (loc.getWorld() == null) {
-                plugin.getLogger().warning("Location ohne World: " + loc);
-                continue;
-            }
+    // ==================== PROCESSED CHESTS (ALT) ====================
 
-            locationStrings.add(serializeLocation(loc));
+    /**
+     * Lädt verarbeitete Kisten aus den Alt-Daten (vor dem Chunk-PDC)
+     */
+    public synchronized Set<Location> loadLegacyProcessedChests() {
+        Set<Location> chests = new LinkedHashSet<>();
+        // Welt-Lookup einmal pro Weltname statt pro Kiste
+        Map<String, Optional<World>> worlds = new HashMap<>();
+
+        for (ChestKey key : legacyChests) {
+            Optional<World> world = worlds.computeIfAbsent(key.world(), name -> {
+                World found = Bukkit.getWorld(name);
+                if (found == null) {
+                    plugin.getLogger().warning("Welt nicht gefunden: " + name);
+                }
+                return Optional.ofNullable(found);
+            });
+            if (world.isEmpty()) continue;
+            chests.add(new Location(world.get(), key.x(), key.y(), key.z()));
         }
 
-        data.set("chests.processed", locationStrings);
+        return chests;
+    }
 
-        // FIX: Prüfe ob Plugin disabled wird
-        if (pluginDisabling) {
-            save(); // Synchron
-        } else {
-            saveAsync();
+    /**
+     * Entfernt die ins Chunk-PDC übernommenen Alt-Kisten eines Chunks
+     * (chests.dat wird beim nächsten Snapshot verkleinert bzw. gelöscht)
+     */
+    public synchronized void forgetLegacyChests(String world, int chunkX, int chunkZ) {
+        if (legacyChests.removeIf(key -> key.world().equals(world) &&
+                key.x() >> 4 == chunkX && key.z() >> 4 == chunkZ)) {
+            legacyDirty = true;
         }
     }
 
+    // ==================== SERIALISIERUNG ====================
+
     /**
-     * Lädt verarbeitete Kisten
+     * Unveränderlicher Zustand für den Writer-Thread
      */
-    public Set<Location> loadProcessedChests() {
-        Set<Location> chests = new HashSet<>();
-        List<String> locationStrings = data.getStringList("chests.processed");
-
-        for (String locString : locationStrings) {
-            try {
-                Location loc = deserializeLocation(locString);
-                if (loc != null) {
-                    chests.add(loc);
-                }
-            } catch (Exception e) {
-                plugin.getLogger().warning("Ungültige Location: " + locString);
+    private record DataSnapshot(String requiredItem, String rewardItem, double moneyReward,
+                                Long startTime, Long nextAvailable, String lastPlayerUUID,
+                                List<UUID> trackedPlayers) {
+
+        FileConfiguration toConfig() {
+            FileConfiguration data = new YamlConfiguration();
+            data.set("quest.current.required-item", requiredItem);
+            data.set("quest.current.reward-item", rewardItem);
+            data.set("quest.current.money-reward", moneyReward);
+            data.set("quest.start-time", startTime);
+            data.set("quest.next-available", nextAvailable);
+            data.set("quest.last-player-uuid", lastPlayerUUID);
+
+            List<String> uuidStrings = new ArrayList<>(trackedPlayers.size());
+            for (UUID uuid : trackedPlayers) {
+                uuidStrings.add(uuid.toString());
             }
+            data.set("quest.tracked-players", uuidStrings);
+            return data;
         }
 
-        return chests;
+        void writeYaml(OutputStream out) throws IOException {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writer.write(toConfig().saveToString());
+            writer.flush();
+        }
     }
 
-    // ==================== LOCATION SERIALISIERUNG ====================
-
-    /**
-     * Serialisiert Location zu String
-     * Format: world,x,y,z
-     */
-    private String serializeLocation(Location loc) {
-        return String.format("%s,%d,%d,%d",
-                loc.getWorld().getName(),
-                loc.getBlockX(),
-                loc.getBlockY(),
-                loc.getBlockZ()
-        );
+    private static void writeChests(OutputStream out, List<ChestKey> chests) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        ChestPositionCodec.write(data, chests);
+        data.flush();
     }
 
     /**
-     * Deserialisiert Location von String
+     * Kisten-Position unabhängig von geladenen Welten
+     * Alt-Format (data.yml chests.processed): world,x,y,z
      */
-    private Location deserializeLocation(String locString) {
-        String[] parts = locString.split(",");
+    record ChestKey(String world, int x, int y, int z) {
 
-        if (parts.length != 4) {
-            plugin.getLogger().warning("Ungültiges Location-Format: " + locString);
-            return null;
+        static ChestKey parse(String locString) {
+            String[] parts = locString.split(",");
+            if (parts.length != 4) {
+                return null;
+            }
+            try {
+                return new ChestKey(parts[0], Integer.parseInt(parts[1]),
+                        Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
         }
 
-        World world = Bukkit.getWorld(parts[0]);
-        if (world == null) {
-            plugin.getLogger().warning("Welt nicht gefunden: " + parts[0]);
-            return null;
+        static ChestKey read(DataInput in) throws IOException {
+            return new ChestKey(in.readUTF(), in.readInt(), in.readInt(), in.readInt());
         }
+    }
 
-        try {
-            int x = Integer.parseInt(parts[1]);
-            int y = Integer.parseInt(parts[2]);
-            int z = Integer.parseInt(parts[3]);
-
-            return new Location(world, x, y, z);
-        } catch (NumberFormatException e) {
-            plugin.getLogger().warning("Ungültige Koordinaten: " + locString);
-            return null;
+    private static void writeUUID(DataOutput out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static void writeNullableUTF(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
         }
     }
 
+    private static String readNullableUTF(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
     // ==================== UTILITY ====================
 
     /**
-     * Lädt data.yml neu
+     * Lädt data.yml neu (wartet außerhalb des Main-Threads auf den Writer)
      */
-    public void reload() {
-        data = YamlConfiguration.loadConfiguration(dataFile);
-        plugin.getPluginLogger().info("data.yml neu geladen");
+    public CompletableFuture<Void> reload() {
+        return CompletableFuture.runAsync(() -> {
+            // Ohne Lock leerlaufen lassen, Getter im Main-Thread blockieren nicht
+            flush();
+            synchronized (this) {
+                // Nur noch Änderungen seit dem ersten flush, danach gehört das Journal dem Reload
+                flush();
+                load();
+            }
+            plugin.getPluginLogger().info("data.yml neu geladen");
+        });
+    }
+
+    /**
+     * Speichert, kompaktiert und schließt das Journal (onDisable)
+     */
+    public synchronized void shutdown() {
+        // Einzige blockierende Stelle - Server wartet ohnehin auf onDisable
+        publishSnapshot();
+        flush();
+        writer.shutdown(FLUSH_TIMEOUT_MS);
+        try {
+            journal.close();
+        } catch (IOException e) {
+            plugin.getPluginLogger().severe("Fehler beim Schließen von data.journal: " + e.getMessage());
+        }
     }
 
     /**
-     * Gibt data.yml Config zurück (für erweiterte Nutzung)
+     * Gibt den aktuellen Zustand als data.yml-Snapshot zurück (Kopie, für erweiterte Nutzung)
      */
-    public FileConfiguration getData() {
-        return data;
+    public synchronized FileConfiguration getData() {
+        return captureSnapshot().toConfig();
     }
 
     /**
@@ -316,18 +551,33 @@ public class DataManager {
     }
 
     /**
-     * Erstellt Backup von data.yml
+     * Erstellt Backup von data.yml (und chests.dat)
+     *
+     * Kopiert erst wenn der Writer den Snapshot geschrieben hat.
      */
-    public boolean createBackup() {
+    public CompletableFuture<Boolean> createBackup() {
+        // Journal einarbeiten, damit data.yml vollständig ist
+        return saveAsyncFuture().thenApply(flushed -> {
+            if (!flushed) {
+                // Dateien wären evtl. veraltet - kein Backup vortäuschen
+                plugin.getPluginLogger().severe("Backup abgebrochen: data.yml nicht rechtzeitig geschrieben");
+                return false;
+            }
+            return copyBackup();
+        });
+    }
+
+    private boolean copyBackup() {
         try {
-            File backupFile = new File(plugin.getDataFolder(),
-                    "data.yml.backup." + System.currentTimeMillis());
+            long timestamp = System.currentTimeMillis();
+            File backupFile = new File(plugin.getDataFolder(), "data.yml.backup." + timestamp);
 
             if (dataFile.exists()) {
-                java.nio.file.Files.copy(
-                        dataFile.toPath(),
-                        backupFile.toPath()
-                );
+                Files.copy(dataFile.toPath(), backupFile.toPath());
+                if (chestFile.exists()) {
+                    Files.copy(chestFile.toPath(),
+                            new File(plugin.getDataFolder(), "chests.dat.backup." + timestamp).toPath());
+                }
                 plugin.getPluginLogger().info("Backup erstellt: " + backupFile.getName());
                 return true;
             }
@@ -341,8 +591,13 @@ public class DataManager {
      * Bereinigt alte Backups (behält nur die letzten 5)
      */
     public void cleanupOldBackups() {
+        cleanupOldBackups("data.yml.backup.");
+        cleanupOldBackups("chests.dat.backup.");
+    }
+
+    private void cleanupOldBackups(String prefix) {
         File[] backups = plugin.getDataFolder().listFiles(
-                (dir, name) -> name.startsWith("data.yml.backup.")
+                (dir, name) -> name.startsWith(prefix)
         );
 
         if (backups == null || backups.length <= 5) {
@@ -0,0 +1,289 @@
+package de.questplugin.managers;
+
+import de.questplugin.utils.PluginLogger;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Einziger I/O-Thread für data.journal und die Snapshot-Dateien
+ *
+ * Aufrufer übergeben nur unveränderliche Daten (kodierte Records,
+ * Snapshots) - kein geteilter Zustand mit dem Main-Thread.
+ *
+ * - Coalescing: Aufträge innerhalb von COALESCE_MS werden gesammelt,
+ *   Records in einem Write geschrieben, ältere Snapshots verworfen
+ * - Snapshot: je Datei .tmp schreiben + atomar umbenennen, danach Journal leeren
+ * - flush(): Barriere, kehrt zurück wenn alles Vorherige geschrieben ist
+ */
+final class DataWriter {
+
+    private static final long COALESCE_MS = 1000;
+
+    private final DataJournal journal;
+    private final PluginLogger logger;
+    private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private sealed interface Task permits Append, Snapshot, Barrier, Stop {
+    }
+
+    private record Append(byte[] record) implements Task {
+    }
+
+    private record Snapshot(List<SnapshotFile> files) implements Task {
+    }
+
+    private record Barrier(CompletableFuture<Void> done) implements Task {
+    }
+
+    private record Stop() implements Task {
+    }
+
+    @FunctionalInterface
+    interface SnapshotContent {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Eine Zieldatei eines Snapshots
+     *
+     * @param content Wird auf dem Writer-Thread aufgerufen, muss auf
+     *                unveränderlichen Daten arbeiten (null = Datei löschen)
+     */
+    record SnapshotFile(File target, SnapshotContent content) {
+    }
+
+    DataWriter(DataJournal journal, PluginLogger logger) {
+        this.journal = journal;
+        this.logger = logger;
+        this.thread = new Thread(this::run, "OraxenQuest-DataWriter");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Hängt einen kodierten Journal-Record an
+     */
+    void append(byte[] record) {
+        queue.add(new Append(record));
+    }
+
+    /**
+     * Schreibt einen Snapshot (alle Dateien) und leert danach das Journal
+     */
+    void snapshot(List<SnapshotFile> files) {
+        queue.add(new Snapshot(List.copyOf(files)));
+    }
+
+    /**
+     * Wartet bis alle bisher übergebenen Aufträge geschrieben sind
+     *
+     * @return false bei Timeout oder wenn der Writer nicht mehr läuft
+     */
+    boolean flush(long timeoutMs) {
+        if (!running) {
+            return false;
+        }
+        if (Thread.currentThread() == thread) {
+            return true;
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new Barrier(done));
+
+        try {
+            done.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("Daten-Flush: Timeout nach " + timeoutMs + "ms");
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Schreibt alles Ausstehende und beendet den Thread
+     */
+    void shutdown(long timeoutMs) {
+        if (!running) {
+            return;
+        }
+        queue.add(new Stop());
+        try {
+            thread.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.warn("Daten-Writer nicht rechtzeitig beendet");
+        }
+    }
+
+    private void run() {
+        List<Task> batch = new ArrayList<>();
+
+        while (running) {
+            try {
+                batch.add(queue.take());
+
+                // Sammeln bis Zeitfenster abläuft oder eine Barriere/Stop ansteht
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(COALESCE_MS);
+                while (!isUrgent(batch.get(batch.size() - 1))) {
+                    long remaining = deadline - System.nanoTime();
+                    Task next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+
+            process(batch);
+            batch.clear();
+        }
+
+        // Reste nach Stop (z.B. späte Aufträge) noch schreiben
+        queue.drainTo(batch);
+        process(batch);
+    }
+
+    private static boolean isUrgent(Task task) {
+        return task instanceof Barrier || task instanceof Stop;
+    }
+
+    private void process(List<Task> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Nur der letzte Snapshot zählt - er enthält alle Records davor
+        int lastSnapshot = -1;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i) instanceof Snapshot) {
+                lastSnapshot = i;
+            }
+        }
+
+        List<byte[]> beforeSnapshot = new ArrayList<>();
+        List<byte[]> records = new ArrayList<>();
+        List<CompletableFuture<Void>> barriers = new ArrayList<>();
+        List<SnapshotFile> snapshot = null;
+
+        for (int i = 0; i < batch.size(); i++) {
+            Task task = batch.get(i);
+
+            if (task instanceof Barrier barrier) {
+                barriers.add(barrier.done());
+            } else if (task instanceof Stop) {
+                running = false;
+            } else if (task instanceof Snapshot snap && i == lastSnapshot) {
+                snapshot = snap.files();
+            } else if (task instanceof Append append) {
+                (i < lastSnapshot ? beforeSnapshot : records).add(append.record());
+            }
+        }
+
+        try {
+            // Snapshot fehlgeschlagen → Records davor doch ins Journal
+            if (snapshot != null && !writeSnapshot(snapshot)) {
+                beforeSnapshot.addAll(records);
+                records = beforeSnapshot;
+            }
+
+            journal.write(records);
+
+            int written = records.size();
+            if (written > 0) {
+                logger.debug(() -> "data.journal: " + written + " Records geschrieben");
+            }
+        } catch (IOException e) {
+            logger.severe("Fehler beim Schreiben von data.journal: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // Writer-Thread darf nicht sterben - sonst hängt jeder flush() bis zum Timeout
+            logger.severe("Unerwarteter Fehler im Data-Writer: " + e);
+            e.printStackTrace();
+        } finally {
+            barriers.forEach(done -> done.complete(null));
+        }
+    }
+
+    /**
+     * Alle Dateien als .tmp schreiben und atomar ersetzen, dann Journal leeren
+     * (bei Fehler bleibt das Journal erhalten - nichts geht verloren, ein
+     * teilweise ersetzter Snapshot wird beim Laden vom Journal ergänzt)
+     */
+    private boolean writeSnapshot(List<SnapshotFile> files) {
+        for (SnapshotFile file : files) {
+            if (!replace(file)) {
+                return false;
+            }
+        }
+
+        try {
+            journal.truncate();
+            logger.debug("Snapshot geschrieben (" + files.size() + " Dateien)");
+            return true;
+        } catch (IOException e) {
+            logger.severe("Fehler beim Leeren von data.journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean replace(SnapshotFile file) {
+        Path target = file.target().toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        if (file.content() == null) {
+            try {
+                Files.deleteIfExists(target);
+                return true;
+            } catch (IOException e) {
+                logger.severe("Fehler beim Löschen von " + target.getFileName() + ": " + e.getMessage());
+                return false;
+            }
+        }
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+                file.content().write(out);
+                out.flush();
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            logger.severe("Fehler beim Speichern von " + target.getFileName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
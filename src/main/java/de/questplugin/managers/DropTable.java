@@ -0,0 +1,200 @@
+package de.questplugin.managers;
+
+import de.questplugin.utils.DropMechanics;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+
+/**
+ * Vorkompilierte, unveränderliche Drop-Tabelle
+ *
+ * Wird beim Laden/Reload einmalig aus den DropEntries gebaut.
+ * Jeder Eintrag hält einen fertigen ItemStack-Prototyp, der pro Drop
+ * nur noch geklont wird - kein ItemBuilder.build() im Hot-Path - sowie
+ * eine vorberechnete [Level]-Tabelle aus Chance und Roll-Anzahl.
+ */
+final class DropTable {
+
+    private final List<CompiledDrop> drops;
+
+    // [Level] P(kein Eintrag trifft) und [Level][Eintrag] bedingte Trefferchance
+    private final double[] zeroDropChance;
+    private final double[][] conditionalHitChance;
+
+    private DropTable(List<CompiledDrop> drops) {
+        this.drops = Collections.unmodifiableList(drops);
+
+        int levels = DropMechanics.LevelTable.PRECOMPUTED_LEVELS + 1;
+        this.zeroDropChance = new double[levels];
+        this.conditionalHitChance = new double[levels][drops.size()];
+
+        for (int level = 0; level < levels; level++) {
+            // Rückwärts: P(kein Treffer in Einträgen i..n)
+            double noneFromHere = 1.0;
+            for (int i = drops.size() - 1; i >= 0; i--) {
+                double miss = drops.get(i).levels.noSuccessChance(level);
+                double anyFromHere = 1.0 - noneFromHere * miss;
+
+                // P(Eintrag i trifft | mindestens ein Treffer in i..n)
+                conditionalHitChance[level][i] = anyFromHere > 0
+                        ? Math.min(1.0, (1.0 - miss) / anyFromHere)
+                        : 1.0;
+                noneFromHere *= miss;
+            }
+            zeroDropChance[level] = noneFromHere;
+        }
+    }
+
+    /**
+     * Kompiliert Drop-Einträge zu einer Tabelle
+     *
+     * @param entries Geladene Drop-Einträge
+     * @param itemBuilder Baut den Prototyp für eine Oraxen-ID (null = überspringen)
+     * @param levelTables Baut die Level-Tabelle aus der Basis-Chance
+     */
+    static DropTable compile(List<BaseManager.DropEntry> entries,
+                             Function<String, ItemStack> itemBuilder,
+                             DoubleFunction<DropMechanics.LevelTable> levelTables) {
+        List<CompiledDrop> compiled = new ArrayList<>(entries.size());
+
+        for (BaseManager.DropEntry entry : entries) {
+            ItemStack prototype = itemBuilder.apply(entry.oraxenItemId);
+            if (prototype != null) {
+                compiled.add(new CompiledDrop(entry, prototype,
+                        levelTables.apply(entry.chance)));
+            }
+        }
+
+        return new DropTable(compiled);
+    }
+
+    /**
+     * Baut nur die Level-Tabellen neu (z.B. bei Wechsel der Drop-Methode),
+     * die Item-Prototypen werden übernommen
+     */
+    DropTable withLevelTables(DoubleFunction<DropMechanics.LevelTable> levelTables) {
+        List<CompiledDrop> compiled = new ArrayList<>(drops.size());
+
+        for (CompiledDrop drop : drops) {
+            compiled.add(new CompiledDrop(drop.entry, drop.prototype,
+                    levelTables.apply(drop.entry.chance)));
+        }
+
+        return new DropTable(compiled);
+    }
+
+    List<CompiledDrop> getDrops() {
+        return drops;
+    }
+
+    int size() {
+        return drops.size();
+    }
+
+    boolean isEmpty() {
+        return drops.isEmpty();
+    }
+
+    /**
+     * Zieht die Treffer (erfolgreiche Rolls) pro Eintrag
+     *
+     * Zero-Drop-Test: Die meisten Blöcke/Mobs droppen nichts - ein
+     * Zufallswert gegen P(kein Eintrag trifft) verwirft die ganze Tabelle
+     * auf einmal. Nur bei Treffer wird pro Eintrag gewürfelt, bedingt darauf
+     * dass mindestens einer trifft (gleiche Verteilung wie einzeln würfeln).
+     *
+     * @param binomial Treffer aus dem Binomial-Sampler statt Rolls einzeln
+     * @return Treffer pro Eintrag (Index wie getDrops()), null = keine Drops
+     */
+    int[] sampleHits(int level, ThreadLocalRandom random, boolean binomial) {
+        if (random.nextDouble() < zeroDropChance(level)) {
+            return null;
+        }
+
+        int[] hits = new int[drops.size()];
+        boolean hitPending = true;
+
+        for (int i = 0; i < drops.size(); i++) {
+            DropMechanics.LevelTable levels = drops.get(i).levels;
+
+            if (hitPending) {
+                // Mindestens ein Eintrag ab hier muss noch treffen
+                if (random.nextDouble() >= conditionalHitChance(level, i)) {
+                    continue;
+                }
+                hits[i] = levels.sampleAtLeastOne(level, random, binomial);
+                hitPending = false;
+            } else {
+                hits[i] = binomial
+                        ? levels.sampleSuccesses(level, random)
+                        : levels.rollSuccesses(level, random);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Wahrscheinlichkeit dass kein Eintrag der Tabelle trifft
+     * (über PRECOMPUTED_LEVELS on-the-fly berechnet)
+     */
+    double zeroDropChance(int level) {
+        if (DropMechanics.LevelTable.hasPrecomputed(level)) {
+            return zeroDropChance[Math.max(0, level)];
+        }
+
+        double none = 1.0;
+        for (CompiledDrop drop : drops) {
+            none *= drop.levels.noSuccessChance(level);
+        }
+        return none;
+    }
+
+    /**
+     * Trefferchance von Eintrag index, bedingt darauf dass mindestens
+     * ein Eintrag ab index trifft
+     */
+    double conditionalHitChance(int level, int index) {
+        if (DropMechanics.LevelTable.hasPrecomputed(level)) {
+            return conditionalHitChance[Math.max(0, level)][index];
+        }
+
+        // Seltene hohe Level: O(n) pro Aufruf statt Tabelle
+        double noneAfter = 1.0;
+        for (int i = drops.size() - 1; i > index; i--) {
+            noneAfter *= drops.get(i).levels.noSuccessChance(level);
+        }
+        double miss = drops.get(index).levels.noSuccessChance(level);
+        double any = 1.0 - noneAfter * miss;
+        return any > 0 ? Math.min(1.0, (1.0 - miss) / any) : 1.0;
+    }
+
+    /**
+     * Einzelner kompilierter Drop mit ItemStack-Prototyp
+     */
+    static final class CompiledDrop {
+        final BaseManager.DropEntry entry;
+        final DropMechanics.LevelTable levels;
+        private final ItemStack prototype;
+
+        private CompiledDrop(BaseManager.DropEntry entry, ItemStack prototype,
+                             DropMechanics.LevelTable levels) {
+            this.entry = entry;
+            this.levels = levels;
+            this.prototype = prototype.clone();
+        }
+
+        /**
+         * Erstellt eine neue Kopie des Prototyps mit gegebener Menge
+         */
+        ItemStack createItem(int amount) {
+            ItemStack item = prototype.clone();
+            item.setAmount(amount);
+            return item;
+        }
+    }
+}
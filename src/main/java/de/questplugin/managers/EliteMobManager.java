@@ -14,8 +14,14 @@ import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent;
-import org.bukkit.util.StructureSearchResult;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -26,22 +32,53 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * FIX: Custom-World Struktur-Freeze behoben:
  * - Skip für Custom-Generatoren ohne Strukturen
- * - Timeout-Protection für locateNearestStructure()
+ * - Keine locateNearestStructure() mehr im Spawn-Event:
+ *   Strukturen werden beim Chunk-Load indexiert (StructureIndex),
+ *   noch eingereihte Chunks im Radius beim ersten Spawn-Lookup
  */
 public class EliteMobManager extends BaseManager implements Listener {
 
     private final CustomMobAPI mobAPI;
     private final Map<String, EliteMobConfig> biomeElites = new ConcurrentHashMap<>();
     private final Map<String, EliteMobConfig> structureElites = new ConcurrentHashMap<>();
+
+    // Beim Laden aufgelöst: Biom → Mob-Typ → Config (kein String-Matching im Spawn-Event)
+    private volatile Map<Biome, Map<EntityType, EliteMobConfig>> biomeEliteIndex = Collections.emptyMap();
+
+    // Alle Mob-Typen mit Elite-Config - Early-Exit im Spawn-Event
+    private volatile Set<EntityType> eliteTypes = EnumSet.noneOf(EntityType.class);
     private final Set<String> worldsWithoutStructures = ConcurrentHashMap.newKeySet();
 
+    // Max. Distanz Spawn → Struktur-Bounding-Box für Struktur-Elites
+    // (früher: Distanz zum Struktur-Start per locateNearestStructure)
+    private static final double STRUCTURE_RADIUS = 80.0;
+    // Chunks pro Tick die in den Struktur-Index übernommen werden
+    private static final int INDEX_CHUNKS_PER_TICK = 16;
+
+    private volatile StructureIndex structureIndex = new StructureIndex(Set.of());
+    private final Deque<PendingChunk> pendingChunks = new ArrayDeque<>();
+    private BukkitTask indexTask;
+
+    // Elite-Limits pro Chunk/Welt/Spieler-Umkreis (inkrementelle Zähler)
+    private EliteSpawnBudget spawnBudget;
+    private BukkitTask budgetTask;
+    // Intervall in dem gewanderte Elites ihrem aktuellen Chunk zugerechnet werden
+    private static final long BUDGET_REFRESH_TICKS = 100L;
+
     public EliteMobManager(OraxenQuestPlugin plugin) {
         super(plugin);
         this.mobAPI = plugin.getCustomMobAPI();
 
         loadEliteMobs();
+        rebuildStructureIndex();
+        startIndexTask();
+        spawnBudget = createSpawnBudget(null);
+        budgetTask = Bukkit.getScheduler().runTaskTimer(plugin,
+                () -> spawnBudget.refreshPositions(), BUDGET_REFRESH_TICKS, BUDGET_REFRESH_TICKS);
 
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        // Bereits geladene Elites (Neustart/Reload) nach dem Enable zählen
+        Bukkit.getScheduler().runTask(plugin, this::countLoadedElites);
 
         info("EliteMobManager initialisiert - " +
                 biomeElites.size() + " Biom-Elites, " +
@@ -51,6 +88,8 @@ public class EliteMobManager extends BaseManager implements Listener {
     private void loadEliteMobs() {
         biomeElites.clear();
         structureElites.clear();
+        biomeEliteIndex = Collections.emptyMap();
+        eliteTypes = EnumSet.noneOf(EntityType.class);
 
         ConfigurationSection section = plugin.getConfig().getConfigurationSection("elite-mobs");
         if (section == null) {
@@ -69,11 +108,18 @@ public class EliteMobManager extends BaseManager implements Listener {
             loadStructureElites(structureSection);
         }
 
+        Set<EntityType> types = EnumSet.noneOf(EntityType.class);
+        biomeElites.values().forEach(config -> types.add(config.getMobType()));
+        structureElites.values().forEach(config -> types.add(config.getMobType()));
+        eliteTypes = types;
+
         info("Elite-Mobs: " + biomeElites.size() + " Biom-Configs, " +
                 structureElites.size() + " Struktur-Configs geladen");
     }
 
     private void loadBiomeElites(ConfigurationSection section) {
+        Map<Biome, Map<EntityType, EliteMobConfig>> index = new HashMap<>();
+
         for (String biomeStr : section.getKeys(false)) {
             ConfigurationSection eliteSection = section.getConfigurationSection(biomeStr);
             if (eliteSection == null) continue;
@@ -89,12 +135,37 @@ public class EliteMobManager extends BaseManager implements Listener {
                 biomeElites.put(biomeStr.toLowerCase(), config);
 
                 List<Biome> matchedBiomes = getMatchingBiomes(biomeStr);
+                indexBiomeElite(index, biomeStr, matchedBiomes, config);
+
                 debug("Biom-Elite geladen: " + biomeStr + " (" + config.getMobType() + ")");
                 debug("  Matched " + matchedBiomes.size() + " Biome");
                 debug("  Spawn-Chance: " + config.getSpawnChance() + "%");
                 debug("  Equipment: " + (config.hasEquipment() ? "JA" : "NEIN"));
             }
         }
+
+        biomeEliteIndex = index;
+    }
+
+    /**
+     * Trägt eine Biom-Elite für alle gematchten Biome ein
+     * Exakter Biom-Name hat Vorrang vor Teil-Treffern, sonst gewinnt die erste Config
+     */
+    private void indexBiomeElite(Map<Biome, Map<EntityType, EliteMobConfig>> index, String biomeStr,
+                                 List<Biome> matchedBiomes, EliteMobConfig config) {
+        String normalizedKey = biomeStr.toLowerCase().replace("_", "");
+
+        for (Biome biome : matchedBiomes) {
+            Map<EntityType, EliteMobConfig> byType =
+                    index.computeIfAbsent(biome, b -> new EnumMap<>(EntityType.class));
+
+            String normalizedBiome = biome.getKey().getKey().toLowerCase().replace("_", "");
+            if (normalizedBiome.equals(normalizedKey)) {
+                byType.put(config.getMobType(), config);
+            } else {
+                byType.putIfAbsent(config.getMobType(), config);
+            }
+        }
     }
 
     private void loadStructureElites(ConfigurationSection section) {
@@ -114,6 +185,11 @@ public class EliteMobManager extends BaseManager implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onCreatureSpawn(CreatureSpawnEvent event) {
+        // Early-Exit: kein Elite für diesen Mob-Typ konfiguriert (EnumSet-Lookup)
+        if (!eliteTypes.contains(event.getEntityType())) {
+            return;
+        }
+
         if (!(event.getEntity() instanceof LivingEntity)) {
             return;
         }
@@ -138,12 +214,17 @@ public class EliteMobManager extends BaseManager implements Listener {
         EliteMobConfig structureConfig = findStructureElite(location, mobType);
 
         if (structureConfig != null) {
-            debug("Structure-Elite gefunden: " + structureConfig.getEliteName());
-
             double roll = ThreadLocalRandom.current().nextDouble() * 100;
-            debug("  Roll: " + String.format("%.2f", roll));
+            if (debugMode) {
+                debug("Structure-Elite gefunden: " + structureConfig.getEliteName());
+                debug("  Roll: " + String.format("%.2f", roll));
+            }
 
             if (roll < structureConfig.getSpawnChance()) {
+                if (!hasSpawnBudget(location)) {
+                    return;
+                }
+
                 debug("  → ERFOLG! Spawne Structure-Elite");
 
                 event.setCancelled(true);
@@ -163,12 +244,17 @@ public class EliteMobManager extends BaseManager implements Listener {
         EliteMobConfig biomeConfig = findBiomeElite(biome, mobType);
 
         if (biomeConfig != null) {
-            debug("Biome-Elite gefunden: " + biomeConfig.getEliteName());
-
             double roll = ThreadLocalRandom.current().nextDouble() * 100;
-            debug("  Roll: " + String.format("%.2f", roll));
+            if (debugMode) {
+                debug("Biome-Elite gefunden: " + biomeConfig.getEliteName());
+                debug("  Roll: " + String.format("%.2f", roll));
+            }
 
             if (roll < biomeConfig.getSpawnChance()) {
+                if (!hasSpawnBudget(location)) {
+                    return;
+                }
+
                 debug("  → ERFOLG! Spawne Biome-Elite");
 
                 event.setCancelled(true);
@@ -186,7 +272,7 @@ public class EliteMobManager extends BaseManager implements Listener {
 
     /**
      * Findet Structure-Elite Config anhand der Location
-     * FIX: Mit Custom-World-Check und Timeout-Schutz
+     * FIX: Mit Custom-World-Check, Lookup im Struktur-Index
      */
     private EliteMobConfig findStructureElite(Location location, EntityType mobType) {
         if (structureElites.isEmpty()) {
@@ -211,8 +297,8 @@ public class EliteMobManager extends BaseManager implements Listener {
                 return null;
             }
 
-            Registry<org.bukkit.generator.structure.Structure> structureRegistry =
-                    Bukkit.getRegistry(org.bukkit.generator.structure.Structure.class);
+            StructureIndex index = structureIndex;
+            indexChunksInRadius(index, world, location);
 
             for (Map.Entry<String, EliteMobConfig> entry : structureElites.entrySet()) {
                 String configKey = entry.getKey();
@@ -227,32 +313,14 @@ public class EliteMobManager extends BaseManager implements Listener {
                     continue;
                 }
 
-                org.bukkit.generator.structure.Structure structure = structureRegistry.get(structureKey);
-                if (structure == null) {
-                    if (debugMode) {
-                        debug("  Struktur nicht in Registry: " + structureKey);
-                    }
-                    continue;
-                }
-
-                try {
-                    // FIX: Mit Timeout-Schutz
-                    StructureSearchResult result = findStructureSafe(world, location, structure);
-
-                    if (result != null) {
-                        Location structureLocation = result.getLocation();
-                        double distance = location.distance(structureLocation);
-
-                        if (distance <= 80.0) {
-                            debug("  ✓ Struktur gefunden: " + structureKey.getKey() +
-                                    " (Distanz: " + String.format("%.1f", distance) + "m)");
-                            return config;
-                        }
-                    }
-                } catch (Exception e) {
+                // Index-Lookup statt synchroner Struktur-Suche
+                double distance = index.findWithin(location, structureKey, STRUCTURE_RADIUS);
+                if (distance >= 0) {
                     if (debugMode) {
-                        debug("  Struktur-Suche failed: " + structureKey + " - " + e.getMessage());
+                        debug("  ✓ Struktur gefunden: " + structureKey.getKey() +
+                                " (Distanz: " + String.format("%.1f", distance) + "m)");
                     }
+                    return config;
                 }
             }
 
@@ -263,6 +331,186 @@ public class EliteMobManager extends BaseManager implements Listener {
         return null;
     }
 
+    // ==================== SPAWN-BUDGET ====================
+
+    /**
+     * Baut das Spawn-Budget aus der Config (bestehende Zähler werden übernommen)
+     * Ohne budget-Sektion unbegrenzt wie bisher
+     */
+    private EliteSpawnBudget createSpawnBudget(EliteSpawnBudget previous) {
+        int perChunk = plugin.getConfig().getInt("elite-mobs.budget.per-chunk", 0);
+        int perWorld = plugin.getConfig().getInt("elite-mobs.budget.per-world", 0);
+        int perPlayer = plugin.getConfig().getInt("elite-mobs.budget.per-player", 0);
+        int playerRadius = plugin.getConfig().getInt("elite-mobs.budget.player-radius", 48);
+
+        return previous != null
+                ? previous.withLimits(perChunk, perWorld, perPlayer, playerRadius)
+                : new EliteSpawnBudget(perChunk, perWorld, perPlayer, playerRadius);
+    }
+
+    private boolean hasSpawnBudget(Location location) {
+        String exceeded = spawnBudget.checkSpawn(location);
+        if (exceeded != null) {
+            if (debugMode) {
+                debug("  ✗ Elite-Limit erreicht: " + exceeded);
+                debug("=================");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityAddToWorld(EntityAddToWorldEvent event) {
+        trackIfElite(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            trackIfElite(entity);
+        }
+    }
+
+    /**
+     * Zählt alle geladenen Entities mit Elite-Stempel
+     */
+    private void countLoadedElites() {
+        for (World world : Bukkit.getWorlds()) {
+            for (LivingEntity entity : world.getLivingEntities()) {
+                trackIfElite(entity);
+            }
+        }
+        debug(() -> "Spawn-Budget: " + spawnBudget.getLoadedCount() + " geladene Elites gezählt");
+    }
+
+    private void trackIfElite(Entity entity) {
+        if (entity instanceof LivingEntity && mobAPI.getEliteId(entity) != null) {
+            spawnBudget.track(entity);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        spawnBudget.onRemove(event.getEntity());
+    }
+
+    // ==================== STRUKTUR-INDEX ====================
+
+    /**
+     * Baut den Index für die aktuell konfigurierten Struktur-Typen neu
+     * und reiht alle geladenen Chunks zur Indexierung ein
+     */
+    private void rebuildStructureIndex() {
+        Set<NamespacedKey> keys = new HashSet<>();
+        for (String configKey : structureElites.keySet()) {
+            NamespacedKey key = getStructureKey(configKey);
+            if (key != null) {
+                keys.add(key);
+            } else {
+                warn("Unbekannte Struktur in elite-mobs.structures: '" + configKey + "'");
+            }
+        }
+
+        structureIndex = new StructureIndex(keys);
+        pendingChunks.clear();
+
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                pendingChunks.add(new PendingChunk(world.getUID(), chunk.getX(), chunk.getZ()));
+            }
+        }
+
+        debug(() -> "Struktur-Index: " + keys.size() + " Typen, " +
+                pendingChunks.size() + " geladene Chunks eingereiht");
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        if (structureIndex.isEmpty()) {
+            return;
+        }
+
+        Chunk chunk = event.getChunk();
+        pendingChunks.add(new PendingChunk(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        structureIndex.unloadChunk(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Indexiert geladene, noch nicht übernommene Chunks im Struktur-Radius sofort
+     * (Spawn direkt nach dem Chunk-Load, bevor der Index-Task sie erreicht)
+     */
+    private void indexChunksInRadius(StructureIndex index, World world, Location location) {
+        int r = (int) Math.ceil(STRUCTURE_RADIUS);
+        int minX = (location.getBlockX() - r) >> 4;
+        int maxX = (location.getBlockX() + r) >> 4;
+        int minZ = (location.getBlockZ() - r) >> 4;
+        int maxZ = (location.getBlockZ() + r) >> 4;
+        UUID worldId = world.getUID();
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                if (!index.isIndexed(worldId, x, z) && world.isChunkLoaded(x, z)) {
+                    index.indexChunk(world.getChunkAt(x, z));
+                }
+            }
+        }
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        UUID worldId = event.getWorld().getUID();
+        structureIndex.clearWorld(worldId);
+        spawnBudget.clearWorld(worldId);
+        pendingChunks.removeIf(pending -> pending.worldId.equals(worldId));
+    }
+
+    /**
+     * Übernimmt eingereihte Chunks tick-weise in den Index
+     * (Struktur-Referenzen sind nur auf dem Main-Thread lesbar,
+     * bereits per Spawn-Lookup indexierte Chunks werden übersprungen)
+     */
+    private void startIndexTask() {
+        indexTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            StructureIndex index = structureIndex;
+
+            for (int i = 0; i < INDEX_CHUNKS_PER_TICK && !pendingChunks.isEmpty(); i++) {
+                PendingChunk pending = pendingChunks.poll();
+                World world = Bukkit.getWorld(pending.worldId);
+
+                if (world == null || worldsWithoutStructures.contains(world.getName()) ||
+                        !world.isChunkLoaded(pending.x, pending.z) ||
+                        index.isIndexed(pending.worldId, pending.x, pending.z)) {
+                    continue;
+                }
+
+                if (world.getGenerator() != null && !hasStructureSupport(world)) {
+                    worldsWithoutStructures.add(world.getName());
+                    continue;
+                }
+
+                try {
+                    index.indexChunk(world.getChunkAt(pending.x, pending.z));
+                } catch (Exception e) {
+                    debug(() -> "Struktur-Index failed für Chunk " + pending.x + "," + pending.z +
+                            ": " + e.getMessage());
+                }
+            }
+        }, 1L, 1L);
+    }
+
+    private record PendingChunk(UUID worldId, int x, int z) {
+    }
+
     /**
      * FIX: Prüft ob eine Welt Struktur-Support hat
      */
@@ -280,19 +528,6 @@ public class EliteMobManager extends BaseManager implements Listener {
                 !generatorName.contains("EmptyWorld");
     }
 
-    /**
-     * FIX: Structure-Suche mit Timeout-Protection
-     */
-    private StructureSearchResult findStructureSafe(World world, Location location,
-                                                    org.bukkit.generator.structure.Structure structure) {
-        try {
-            return world.locateNearestStructure(location, structure, 64, false);
-        } catch (Exception e) {
-            // Timeout oder nicht unterstützt
-            return null;
-        }
-    }
-
     /**
      * Mapped Config-Key zu NamespacedKey für Structure Registry
      */
@@ -389,27 +624,8 @@ public class EliteMobManager extends BaseManager implements Listener {
     }
 
     private EliteMobConfig findBiomeElite(Biome biome, EntityType mobType) {
-        String biomeName = biome.getKey().getKey().toLowerCase();
-        String normalizedBiome = biomeName.replace("_", "");
-
-        for (Map.Entry<String, EliteMobConfig> entry : biomeElites.entrySet()) {
-            String configKey = entry.getKey();
-            EliteMobConfig config = entry.getValue();
-
-            if (config.getMobType() != mobType) {
-                continue;
-            }
-
-            String normalizedKey = configKey.replace("_", "");
-
-            if (normalizedBiome.equals(normalizedKey) ||
-                    normalizedBiome.contains(normalizedKey) ||
-                    normalizedKey.contains(normalizedBiome)) {
-                return config;
-            }
-        }
-
-        return null;
+        Map<EntityType, EliteMobConfig> byType = biomeEliteIndex.get(biome);
+        return byType != null ? byType.get(mobType) : null;
     }
 
     private boolean validateBiomeConfig(String biomeStr) {
@@ -433,10 +649,10 @@ public class EliteMobManager extends BaseManager implements Listener {
     }
 
     private List<Biome> getMatchingBiomes(String biomeStr) {
+        // "*" war nie eine Wildcard (kein Biom-Name enthält "*") - bleibt ohne Treffer
         if (biomeStr.equals("*")) {
-            List<Biome> all = new ArrayList<>();
-            Registry.BIOME.forEach(all::add);
-            return all;
+            warn("elite-mobs.biomes: '*' ist keine Wildcard und matcht kein Biom");
+            return List.of();
         }
 
         List<Biome> matched = new ArrayList<>();
@@ -456,6 +672,7 @@ public class EliteMobManager extends BaseManager implements Listener {
         try {
             CustomMobBuilder builder = mobAPI.createMob(config.getMobType())
                     .at(location)
+                    .withEliteId(config.getId().toLowerCase())
                     .withName(ChatColor.translateAlternateColorCodes('&', config.getEliteName()))
                     .withLevel(config.getLevel())
                     .withHealth(config.getHealth())
@@ -478,6 +695,7 @@ public class EliteMobManager extends BaseManager implements Listener {
             CustomMob elite = builder.spawn();
 
             if (elite != null && elite.isAlive()) {
+                spawnBudget.track(elite.getEntity());
                 info("Elite gespawnt: " + config.getEliteName());
             }
 
@@ -532,7 +750,15 @@ public class EliteMobManager extends BaseManager implements Listener {
     }
 
     public void shutdown() {
-        // Cleanup
+        if (budgetTask != null) {
+            budgetTask.cancel();
+            budgetTask = null;
+        }
+        if (indexTask != null) {
+            indexTask.cancel();
+            indexTask = null;
+        }
+        pendingChunks.clear();
     }
 
     @Override
@@ -540,8 +766,11 @@ public class EliteMobManager extends BaseManager implements Listener {
         biomeElites.clear();
         structureElites.clear();
         worldsWithoutStructures.clear();
+        debug(() -> "Struktur-Index: " + structureIndex.size() + " Einträge verworfen");
         debugMode = plugin.getConfig().getBoolean("debug-mode", false);
         loadEliteMobs();
+        rebuildStructureIndex();
+        spawnBudget = createSpawnBudget(spawnBudget);
 
         if (plugin.getEliteDropListener() != null) {
             plugin.getEliteDropListener().reload();
@@ -0,0 +1,254 @@
+package de.questplugin.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Begrenzt die Elite-Population pro Chunk, Welt und Spieler-Umkreis
+ *
+ * Zählt inkrementell (Spawn/Add-to-World +1, Remove-from-World -1) statt
+ * Entities zu scannen. Elites werden dem Chunk zugerechnet in dem sie
+ * gespawnt bzw. wieder geladen wurden; refreshPositions() zieht wandernde
+ * Elites periodisch in ihren aktuellen Chunk nach. Ob eine geladene Entity ein Elite
+ * ist, entscheidet der Aufrufer anhand des Elite-ID-Stempels im PDC -
+ * so zählen auch Elites nach Chunk-Reload und Server-Neustart wieder mit.
+ *
+ * Nur vom Main-Thread nutzen.
+ */
+final class EliteSpawnBudget {
+
+    private final int maxPerChunk;
+    private final int maxPerWorld;
+    private final int maxNearPlayer;
+    private final int playerChunkRadius;
+    private final double playerRadiusSquared;
+
+    // Welt → Zähler
+    private final Map<UUID, WorldCounter> worlds = new HashMap<>();
+    // Geladene Elites → zugerechneter Chunk
+    private final Map<UUID, TrackedElite> loaded = new HashMap<>();
+
+    /**
+     * @param maxPerChunk Max. Elites pro Chunk (0 = unbegrenzt)
+     * @param maxPerWorld Max. Elites pro Welt (0 = unbegrenzt)
+     * @param maxNearPlayer Max. Elites im Umkreis des nächsten Spielers (0 = unbegrenzt)
+     * @param playerRadius Umkreis in Blöcken
+     */
+    EliteSpawnBudget(int maxPerChunk, int maxPerWorld, int maxNearPlayer, int playerRadius) {
+        this.maxPerChunk = Math.max(0, maxPerChunk);
+        this.maxPerWorld = Math.max(0, maxPerWorld);
+        this.maxNearPlayer = Math.max(0, maxNearPlayer);
+        this.playerChunkRadius = Math.max(0, (playerRadius + 15) >> 4);
+        this.playerRadiusSquared = (double) playerRadius * playerRadius;
+    }
+
+    /**
+     * Übernimmt bestehende Zähler (z.B. nach Reload mit neuen Limits)
+     */
+    EliteSpawnBudget withLimits(int maxPerChunk, int maxPerWorld, int maxNearPlayer, int playerRadius) {
+        EliteSpawnBudget budget = new EliteSpawnBudget(maxPerChunk, maxPerWorld, maxNearPlayer, playerRadius);
+        for (Map.Entry<UUID, WorldCounter> entry : worlds.entrySet()) {
+            budget.worlds.put(entry.getKey(), entry.getValue());
+        }
+        budget.loaded.putAll(loaded);
+        return budget;
+    }
+
+    /**
+     * Prüft ob an der Location noch ein Elite spawnen darf
+     *
+     * @return null wenn erlaubt, sonst das überschrittene Limit (für Debug)
+     */
+    String checkSpawn(Location location) {
+        World world = location.getWorld();
+        WorldCounter counter = worlds.get(world.getUID());
+        if (counter == null) {
+            return null;
+        }
+
+        if (maxPerWorld > 0 && counter.total >= maxPerWorld) {
+            return "Welt (" + counter.total + "/" + maxPerWorld + ")";
+        }
+
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+
+        if (maxPerChunk > 0) {
+            int inChunk = counter.get(chunkKey(chunkX, chunkZ));
+            if (inChunk >= maxPerChunk) {
+                return "Chunk (" + inChunk + "/" + maxPerChunk + ")";
+            }
+        }
+
+        if (maxNearPlayer > 0) {
+            Player player = nearestPlayer(world, location);
+            if (player != null) {
+                Location center = player.getLocation();
+                int nearby = counter.sumAround(center.getBlockX() >> 4, center.getBlockZ() >> 4,
+                        playerChunkRadius);
+                if (nearby >= maxNearPlayer) {
+                    return "Spieler-Umkreis " + player.getName() + " (" + nearby + "/" + maxNearPlayer + ")";
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private Player nearestPlayer(World world, Location location) {
+        Player nearest = null;
+        double best = playerRadiusSquared;
+
+        for (Player player : world.getPlayers()) {
+            double distance = player.getLocation().distanceSquared(location);
+            if (distance <= best) {
+                best = distance;
+                nearest = player;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Zählt einen geladenen Elite (Spawn, Chunk-Load, Start-Sweep)
+     * Mehrfaches Melden derselben Entity zählt nur einmal.
+     */
+    void track(Entity entity) {
+        Location location = entity.getLocation();
+        UUID worldId = location.getWorld().getUID();
+        long chunkKey = chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+
+        // Doppeltes Add ignorieren
+        if (loaded.putIfAbsent(entity.getUniqueId(), new TrackedElite(worldId, chunkKey)) != null) {
+            return;
+        }
+
+        worlds.computeIfAbsent(worldId, id -> new WorldCounter()).increment(chunkKey);
+    }
+
+    /**
+     * Entity hat die Welt verlassen (Tod, Despawn, Chunk-Unload)
+     *
+     * Nur der geladene Zähler sinkt - ein entladener Elite wird beim
+     * nächsten Laden über seinen PDC-Stempel wieder gezählt.
+     */
+    void onRemove(Entity entity) {
+        TrackedElite tracked = loaded.remove(entity.getUniqueId());
+        if (tracked == null) {
+            return;
+        }
+
+        WorldCounter counter = worlds.get(tracked.worldId);
+        if (counter != null) {
+            counter.decrement(tracked.chunkKey);
+        }
+    }
+
+    /**
+     * Rechnet gewanderte Elites ihrem aktuellen Chunk zu
+     * (O(geladene Elites), nur Welt- und Chunk-Zähler ändern sich)
+     *
+     * @return Anzahl umgebuchter Elites
+     */
+    int refreshPositions() {
+        int moved = 0;
+
+        for (Map.Entry<UUID, TrackedElite> entry : loaded.entrySet()) {
+            Entity entity = Bukkit.getEntity(entry.getKey());
+            if (entity == null) {
+                continue; // Remove-Event folgt bzw. ist unterwegs
+            }
+
+            TrackedElite tracked = entry.getValue();
+            Location location = entity.getLocation();
+            long chunkKey = chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+            if (chunkKey == tracked.chunkKey || !location.getWorld().getUID().equals(tracked.worldId)) {
+                continue; // Weltwechsel läuft über Remove/Add-to-World
+            }
+
+            WorldCounter counter = worlds.get(tracked.worldId);
+            if (counter != null) {
+                counter.decrement(tracked.chunkKey);
+                counter.increment(chunkKey);
+            }
+            entry.setValue(new TrackedElite(tracked.worldId, chunkKey));
+            moved++;
+        }
+        return moved;
+    }
+
+    void clearWorld(UUID worldId) {
+        worlds.remove(worldId);
+        loaded.values().removeIf(tracked -> tracked.worldId.equals(worldId));
+    }
+
+    int getLoadedCount() {
+        return loaded.size();
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private record TrackedElite(UUID worldId, long chunkKey) {
+    }
+
+    /**
+     * Elite-Zähler einer Welt (gesamt + pro Chunk)
+     */
+    private static final class WorldCounter {
+        private final Map<Long, int[]> perChunk = new HashMap<>();
+        private int total;
+
+        int get(long chunkKey) {
+            int[] count = perChunk.get(chunkKey);
+            return count != null ? count[0] : 0;
+        }
+
+        void increment(long chunkKey) {
+            perChunk.computeIfAbsent(chunkKey, k -> new int[1])[0]++;
+            total++;
+        }
+
+        void decrement(long chunkKey) {
+            int[] count = perChunk.get(chunkKey);
+            if (count == null) {
+                return;
+            }
+            if (--count[0] <= 0) {
+                perChunk.remove(chunkKey);
+            }
+            total--;
+        }
+
+        int sumAround(int chunkX, int chunkZ, int radius) {
+            // Wenige belegte Chunks → direkt iterieren statt (2r+1)² Lookups
+            int sum = 0;
+            if (perChunk.size() < (2 * radius + 1) * (2 * radius + 1)) {
+                for (Map.Entry<Long, int[]> entry : perChunk.entrySet()) {
+                    long key = entry.getKey();
+                    int x = (int) (key >> 32);
+                    int z = (int) key;
+                    if (Math.abs(x - chunkX) <= radius && Math.abs(z - chunkZ) <= radius) {
+                        sum += entry.getValue()[0];
+                    }
+                }
+                return sum;
+            }
+
+            for (int x = chunkX - radius; x <= chunkX + radius; x++) {
+                for (int z = chunkZ - radius; z <= chunkZ + radius; z++) {
+                    sum += get(chunkKey(x, z));
+                }
+            }
+            return sum;
+        }
+    }
+}
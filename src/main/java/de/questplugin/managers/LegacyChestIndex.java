@@ -0,0 +1,88 @@
+package de.questplugin.managers;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Verarbeitete Kisten aus Alt-Daten (chests.dat / data.yml), gruppiert nach Chunk
+ *
+ * - Schlüssel: Weltname → gepackte Chunk-Koordinate → sortiertes int[]
+ *   der Positionen im Chunk (gleiche Kodierung wie das Chunk-PDC)
+ * - Einträge werden nur entnommen: beim Chunk-Load wandert der ganze
+ *   Chunk ins PDC, danach ist der Index leer und wird verworfen
+ *
+ * Nur vom Main-Thread nutzen (Chunk-Load, Enable, Reload).
+ */
+final class LegacyChestIndex {
+
+    private final Map<String, Map<Long, int[]>> worlds = new HashMap<>();
+    private int size;
+
+    /**
+     * @param packLocal Kodierung der Position im Chunk (siehe ChestManager)
+     */
+    LegacyChestIndex(Collection<Location> chests, ToIntFunction<Location> packLocal) {
+        Map<String, Map<Long, List<Integer>>> grouped = new HashMap<>();
+        for (Location location : chests) {
+            World world = location.getWorld();
+            if (world == null) continue;
+
+            grouped.computeIfAbsent(world.getName(), name -> new HashMap<>())
+                    .computeIfAbsent(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4),
+                            key -> new ArrayList<>(2))
+                    .add(packLocal.applyAsInt(location));
+        }
+
+        grouped.forEach((world, chunks) -> {
+            Map<Long, int[]> packed = new HashMap<>(chunks.size() * 2);
+            chunks.forEach((chunkKey, positions) -> {
+                int[] sorted = positions.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+                packed.put(chunkKey, sorted);
+                size += sorted.length;
+            });
+            worlds.put(world, packed);
+        });
+    }
+
+    /**
+     * Entnimmt alle Kisten eines Chunks
+     *
+     * @return Sortierte Positionen im Chunk oder null wenn keine
+     */
+    int[] removeChunk(String world, int chunkX, int chunkZ) {
+        Map<Long, int[]> chunks = worlds.get(world);
+        if (chunks == null) {
+            return null;
+        }
+
+        int[] positions = chunks.remove(chunkKey(chunkX, chunkZ));
+        if (positions == null) {
+            return null;
+        }
+
+        size -= positions.length;
+        if (chunks.isEmpty()) {
+            worlds.remove(world);
+        }
+        return positions;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
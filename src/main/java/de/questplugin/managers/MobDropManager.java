@@ -8,7 +8,6 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -16,10 +15,12 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class MobDropManager extends BaseManager {
 
-    private final Map<EntityType, List<DropEntry>> mobDrops = new ConcurrentHashMap<>();
+    // Kompilierte Drop-Tabellen - wird bei Reload atomar ersetzt
+    private volatile Map<EntityType, DropTable> mobDrops = Collections.emptyMap();
 
     // Gleiche Drop-Methode wie BlockDropManager
     private BlockDropManager.DropMethod dropMethod = BlockDropManager.DropMethod.HYBRID;
+    private boolean binomialSampling = true;
 
     public MobDropManager(OraxenQuestPlugin plugin) {
         super(plugin);
@@ -34,16 +35,19 @@ public class MobDropManager extends BaseManager {
         } catch (IllegalArgumentException e) {
             dropMethod = BlockDropManager.DropMethod.HYBRID;
         }
+
+        binomialSampling = plugin.getConfig().getBoolean("drop-mechanics.binomial-sampling", true);
     }
 
     private void loadMobDrops() {
         ConfigurationSection section = plugin.getConfig().getConfigurationSection("mob-drops");
         if (section == null) {
             warn("Keine mob-drops Sektion in Config!");
+            mobDrops = Collections.emptyMap();
             return;
         }
 
-        mobDrops.clear();
+        Map<EntityType, DropTable> compiled = new EnumMap<>(EntityType.class);
         int totalDrops = 0;
         int invalidMobs = 0;
 
@@ -61,9 +65,11 @@ public class MobDropManager extends BaseManager {
                     "mob-drops." + mobType
             );
 
-            if (!drops.isEmpty()) {
-                mobDrops.put(entityType, drops);
-                totalDrops += drops.size();
+            DropTable table = compileDropTable(drops, dropMethod);
+
+            if (!table.isEmpty()) {
+                compiled.put(entityType, table);
+                totalDrops += table.size();
 
                 debug("Mob-Drops: " + entityType + " → " + drops.size() + " Items");
 
@@ -77,7 +83,9 @@ public class MobDropManager extends BaseManager {
             }
         }
 
-        info("Mob-Drops: " + totalDrops + " Items für " + mobDrops.size() + " Mobs" +
+        mobDrops = Collections.unmodifiableMap(compiled);
+
+        info("Mob-Drops: " + totalDrops + " Items für " + compiled.size() + " Mobs" +
                 (invalidMobs > 0 ? " (" + invalidMobs + " ungültig)" : ""));
     }
 
@@ -109,149 +117,86 @@ public class MobDropManager extends BaseManager {
      * Holt Drops für einen Mob mit Looting-Level
      */
     public List<ItemStack> getDrops(EntityType entityType, int lootingLevel) {
-        List<DropEntry> entries = mobDrops.get(entityType);
+        DropTable table = mobDrops.get(entityType);
 
-        debug("getMobDrops(" + entityType + ", Looting=" + lootingLevel + ")");
-        debug("  Methode: " + dropMethod);
-        debug("  Einträge: " + (entries != null ? entries.size() : 0));
+        if (debugMode) {
+            debug("getMobDrops(" + entityType + ", Looting=" + lootingLevel + ")");
+            debug("  Methode: " + dropMethod);
+            debug("  Einträge: " + (table != null ? table.size() : 0));
+        }
 
-        if (entries == null || entries.isEmpty()) {
+        if (table == null || table.isEmpty()) {
             return Collections.emptyList();
         }
 
-        return processDrops(entries, lootingLevel);
+        return processDrops(table, lootingLevel);
     }
 
     /**
      * Identisch zu BlockDropManager, aber für Mobs
+     *
+     * Zero-Drop-Test und bedingtes Würfeln in DropTable.sampleHits -
+     * unabhängig von binomial-sampling und Enchant-Level.
      */
-    private List<ItemStack> processDrops(List<DropEntry> entries, int lootingLevel) {
-        List<ItemStack> drops = new ArrayList<>();
+    private List<ItemStack> processDrops(DropTable table, int lootingLevel) {
         ThreadLocalRandom random = ThreadLocalRandom.current();
 
-        for (DropEntry entry : entries) {
-            debug("  Drop: " + entry.oraxenItemId + " (Base: " + entry.chance + "%)");
+        int[] hits = table.sampleHits(lootingLevel, random, binomialSampling);
+        if (hits == null) {
+            debug("  → Zero-Drop-Test: keine Drops");
+            return Collections.emptyList();
+        }
 
-            boolean dropped = false;
-            int amount = 0;
+        List<ItemStack> drops = new ArrayList<>();
+        List<DropTable.CompiledDrop> compiledDrops = table.getDrops();
 
-            switch (dropMethod) {
-                case DIMINISHING:
-                    dropped = rollDiminishing(entry.chance, lootingLevel, random);
-                    if (dropped) {
-                        amount = DropMechanics.calculateDropAmount(
-                                entry.minAmount, entry.maxAmount, lootingLevel);
-                    }
-                    break;
-
-                case BONUS_ROLLS:
-                    amount = rollBonusRolls(entry.chance, lootingLevel,
-                            entry.minAmount, entry.maxAmount, random);
-                    dropped = amount > 0;
-                    break;
-
-                case HYBRID:
-                    amount = rollHybrid(entry.chance, lootingLevel,
-                            entry.minAmount, entry.maxAmount, random);
-                    dropped = amount > 0;
-                    break;
+        for (int i = 0; i < compiledDrops.size(); i++) {
+            DropTable.CompiledDrop compiled = compiledDrops.get(i);
+            DropEntry entry = compiled.entry;
+            int successes = hits[i];
+
+            if (debugMode) {
+                debug("  Drop: " + entry.oraxenItemId + " (Base: " + entry.chance + "%) → " +
+                        successes + "/" + compiled.levels.rolls(lootingLevel) + " Treffer @ " +
+                        String.format("%.3f%%", compiled.levels.chancePerRoll(lootingLevel)));
             }
 
-            if (dropped && amount > 0) {
-                ItemStack item = buildItem(entry.oraxenItemId);
-                if (item != null) {
-                    item.setAmount(amount);
-                    drops.add(item);
-                    debug("    ✓ ERFOLG: " + item.getType() + " x" + amount);
+            int amount = 0;
+            if (successes > 0) {
+                if (dropMethod == BlockDropManager.DropMethod.DIMINISHING) {
+                    amount = DropMechanics.calculateDropAmount(
+                            entry.minAmount, entry.maxAmount, lootingLevel);
+                } else {
+                    for (int s = 0; s < successes; s++) {
+                        amount += random.nextInt(entry.minAmount, entry.maxAmount + 1);
+                    }
                 }
-            } else {
-                debug("    ✗ MISS");
             }
-        }
-
-        debug("  TOTAL: " + drops.size() + " Drops");
-        return drops;
-    }
-
-    private boolean rollDiminishing(double baseChance, int lootingLevel, ThreadLocalRandom random) {
-        double finalChance = DropMechanics.calculateDropChance(baseChance, lootingLevel);
-        double roll = random.nextDouble() * 100;
-
-        if (debugMode) {
-            debug("    Diminishing: " + baseChance + "% → " +
-                    String.format("%.3f%%", finalChance) +
-                    " | Roll: " + String.format("%.3f", roll));
-        }
-
-        return roll < finalChance;
-    }
-
-    private int rollBonusRolls(double baseChance, int lootingLevel,
-                               int minAmount, int maxAmount, ThreadLocalRandom random) {
-        var result = DropMechanics.calculateBonusRolls(baseChance, lootingLevel);
-
-        if (debugMode) {
-            debug("    Bonus Rolls: " + result);
-        }
-
-        int totalAmount = 0;
-
-        for (int i = 0; i < result.rolls; i++) {
-            double roll = random.nextDouble() * 100;
-
-            if (roll < result.chancePerRoll) {
-                int amount = random.nextInt(minAmount, maxAmount + 1);
-                totalAmount += amount;
 
+            if (amount > 0) {
+                ItemStack item = compiled.createItem(amount);
+                drops.add(item);
                 if (debugMode) {
-                    debug("      Roll " + (i + 1) + ": " +
-                            String.format("%.3f < %.3f", roll, result.chancePerRoll) +
-                            " → +" + amount);
+                    debug("    ✓ ERFOLG: " + item.getType() + " x" + amount);
                 }
-            } else if (debugMode) {
-                debug("      Roll " + (i + 1) + ": " +
-                        String.format("%.3f >= %.3f", roll, result.chancePerRoll) +
-                        " → Miss");
             }
         }
 
-        return totalAmount;
-    }
-
-    private int rollHybrid(double baseChance, int lootingLevel,
-                           int minAmount, int maxAmount, ThreadLocalRandom random) {
-        var result = DropMechanics.calculateHybridDrop(baseChance, lootingLevel);
-
         if (debugMode) {
-            debug("    Hybrid: " + result);
+            debug("  TOTAL: " + drops.size() + " Drops");
         }
-
-        int totalAmount = 0;
-
-        for (int i = 0; i < result.rolls; i++) {
-            double roll = random.nextDouble() * 100;
-
-            if (roll < result.chancePerRoll) {
-                int amount = random.nextInt(minAmount, maxAmount + 1);
-                totalAmount += amount;
-
-                if (debugMode) {
-                    debug("      Roll " + (i + 1) + ": " +
-                            String.format("%.3f < %.3f", roll, result.chancePerRoll) +
-                            " → +" + amount);
-                }
-            } else if (debugMode) {
-                debug("      Roll " + (i + 1) + ": " +
-                        String.format("%.3f >= %.3f", roll, result.chancePerRoll) +
-                        " → Miss");
-            }
-        }
-
-        return totalAmount;
+        return drops;
     }
 
     public void setDropMethod(BlockDropManager.DropMethod method) {
         this.dropMethod = method;
+
+        // Nur Level-Tabellen neu berechnen, Item-Prototypen bleiben
+        Map<EntityType, DropTable> rebuilt = new EnumMap<>(EntityType.class);
+        mobDrops.forEach((key, table) ->
+                rebuilt.put(key, table.withLevelTables(levelTableFactory(method))));
+        mobDrops = Collections.unmodifiableMap(rebuilt);
+
         info("Drop-Methode geändert zu: " + method);
     }
 
@@ -261,7 +206,6 @@ public class MobDropManager extends BaseManager {
 
     @Override
     public void reload() {
-        mobDrops.clear();
         debugMode = plugin.getConfig().getBoolean("debug-mode", false);
         loadConfig();
         loadMobDrops();
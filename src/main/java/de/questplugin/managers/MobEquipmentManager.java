@@ -17,9 +17,13 @@ public class MobEquipmentManager extends BaseManager {
     // Mob -> List<EquipmentEntry>
     private final Map<EntityType, List<EquipmentEntry>> mobEquipment = new ConcurrentHashMap<>();
 
+    // Schnell-Filter für CreatureSpawnEvent (nach jedem Laden neu gebaut)
+    private volatile Set<EntityType> equippedTypes = EnumSet.noneOf(EntityType.class);
+
     public MobEquipmentManager(OraxenQuestPlugin plugin) {
         super(plugin);
         loadMobEquipment();
+        rebuildEquippedTypes();
     }
 
     private void loadMobEquipment() {
@@ -138,7 +142,13 @@ public class MobEquipmentManager extends BaseManager {
      * Prüft ob Mob Equipment haben kann
      */
     public boolean hasEquipment(EntityType entityType) {
-        return mobEquipment.containsKey(entityType);
+        return equippedTypes.contains(entityType);
+    }
+
+    private void rebuildEquippedTypes() {
+        Set<EntityType> types = EnumSet.noneOf(EntityType.class);
+        types.addAll(mobEquipment.keySet());
+        equippedTypes = types;
     }
 
     @Override
@@ -146,6 +156,7 @@ public class MobEquipmentManager extends BaseManager {
         mobEquipment.clear();
         debugMode = plugin.getConfig().getBoolean("debug-mode", false);
         loadMobEquipment();
+        rebuildEquippedTypes();
     }
 
     /**
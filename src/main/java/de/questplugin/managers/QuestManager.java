@@ -214,8 +214,8 @@ public class QuestManager {
 
     public void addTrackedPlayer(UUID uuid) {
         if (trackedPlayers.add(uuid)) {
-            // Async Save für Performance
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, this::saveToData);
+            // Ein Journal-Record statt kompletter Save
+            plugin.getDataManager().addTrackedPlayer(uuid);
         }
     }
 
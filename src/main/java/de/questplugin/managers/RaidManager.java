@@ -134,6 +134,13 @@ public class RaidManager extends BaseManager {
         return activeRaids.containsKey(player.getUniqueId());
     }
 
+    /**
+     * Prüft ob für den Raid-Owner ein Raid läuft
+     */
+    public boolean hasActiveRaid(UUID ownerId) {
+        return activeRaids.containsKey(ownerId);
+    }
+
     /**
      * Holt aktiven Raid eines Spielers
      */
@@ -0,0 +1,246 @@
+package de.questplugin.managers;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.generator.structure.GeneratedStructure;
+import org.bukkit.util.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Räumlicher Index generierter Strukturen pro Welt
+ *
+ * Gitter aus 128x128 Block-Zellen. Jede Struktur wird (per Bounding-Box)
+ * in alle Zellen eingetragen die sie überdeckt - eine Abfrage im Radius
+ * prüft damit nur die 1-9 Zellen um die Location.
+ *
+ * Befüllt aus den Struktur-Referenzen geladener Chunks. Jede Struktur zählt
+ * die indexierten Chunks die sie referenzieren; beim Chunk-Unload fällt sie
+ * heraus sobald kein geladener Chunk sie mehr kennt. Der Index wächst damit
+ * nur mit den geladenen Chunks.
+ *
+ * Nur vom Main-Thread nutzen (Chunk#getStructures ist nicht thread-safe).
+ */
+final class StructureIndex {
+
+    // 128 Blöcke = 8 Chunks pro Zelle
+    private static final int CELL_SHIFT = 7;
+
+    private final Map<UUID, WorldIndex> worlds = new HashMap<>();
+    private final Set<NamespacedKey> trackedStructures;
+
+    /**
+     * @param trackedStructures Nur diese Struktur-Typen indexieren (aus Elite-Configs)
+     */
+    StructureIndex(Set<NamespacedKey> trackedStructures) {
+        this.trackedStructures = Set.copyOf(trackedStructures);
+    }
+
+    boolean isEmpty() {
+        return trackedStructures.isEmpty();
+    }
+
+    boolean isIndexed(UUID worldId, int chunkX, int chunkZ) {
+        WorldIndex index = worlds.get(worldId);
+        return index != null && index.chunks.containsKey(chunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Übernimmt alle relevanten Strukturen die den Chunk schneiden
+     * (bereits indexierte Chunks werden übersprungen)
+     *
+     * @return Anzahl neu eingetragener Strukturen
+     */
+    int indexChunk(Chunk chunk) {
+        if (trackedStructures.isEmpty()) {
+            return 0;
+        }
+
+        WorldIndex index = worlds.computeIfAbsent(chunk.getWorld().getUID(), id -> new WorldIndex());
+        long chunkKey = chunkKey(chunk.getX(), chunk.getZ());
+        if (index.chunks.containsKey(chunkKey)) {
+            return 0;
+        }
+
+        List<IndexedStructure> referenced = List.of();
+        int added = 0;
+
+        for (GeneratedStructure generated : chunk.getStructures()) {
+            NamespacedKey key = generated.getStructure().getKey();
+            if (!trackedStructures.contains(key)) {
+                continue;
+            }
+
+            IndexedStructure structure = IndexedStructure.of(key, generated.getBoundingBox());
+            if (referenced.isEmpty()) {
+                referenced = new ArrayList<>(2);
+            }
+            if (referenced.contains(structure)) {
+                continue;
+            }
+            referenced.add(structure);
+
+            if (index.retain(structure)) {
+                added++;
+            }
+        }
+
+        index.chunks.put(chunkKey, referenced);
+        return added;
+    }
+
+    /**
+     * Entfernt die Referenzen eines entladenen Chunks
+     */
+    void unloadChunk(UUID worldId, int chunkX, int chunkZ) {
+        WorldIndex index = worlds.get(worldId);
+        if (index == null) {
+            return;
+        }
+
+        List<IndexedStructure> referenced = index.chunks.remove(chunkKey(chunkX, chunkZ));
+        if (referenced == null) {
+            return;
+        }
+
+        for (IndexedStructure structure : referenced) {
+            index.release(structure);
+        }
+        if (index.chunks.isEmpty()) {
+            worlds.remove(worldId);
+        }
+    }
+
+    /**
+     * Horizontale Distanz zur Bounding-Box der nächsten Struktur des Typs
+     * innerhalb radius (nicht zum Struktur-Start wie locateNearestStructure)
+     *
+     * @return Distanz in Blöcken (0 = innerhalb der Box) oder -1 wenn keine
+     */
+    double findWithin(Location location, NamespacedKey key, double radius) {
+        WorldIndex index = worlds.get(location.getWorld().getUID());
+        if (index == null) {
+            return -1;
+        }
+
+        double x = location.getX();
+        double z = location.getZ();
+        int r = (int) Math.ceil(radius);
+        double radiusSquared = radius * radius;
+        double best = Double.MAX_VALUE;
+
+        int minCellX = (location.getBlockX() - r) >> CELL_SHIFT;
+        int maxCellX = (location.getBlockX() + r) >> CELL_SHIFT;
+        int minCellZ = (location.getBlockZ() - r) >> CELL_SHIFT;
+        int maxCellZ = (location.getBlockZ() + r) >> CELL_SHIFT;
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                Set<IndexedStructure> cell = index.cells.get(cellKey(cellX, cellZ));
+                if (cell == null) continue;
+
+                for (IndexedStructure structure : cell) {
+                    if (!structure.key.equals(key)) continue;
+
+                    double distanceSquared = structure.distanceSquared(x, z);
+                    if (distanceSquared <= radiusSquared && distanceSquared < best) {
+                        best = distanceSquared;
+                    }
+                }
+            }
+        }
+
+        return best == Double.MAX_VALUE ? -1 : Math.sqrt(best);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    void clearWorld(UUID worldId) {
+        worlds.remove(worldId);
+    }
+
+    /**
+     * Anzahl indexierter Strukturen
+     */
+    int size() {
+        int size = 0;
+        for (WorldIndex index : worlds.values()) {
+            size += index.refCounts.size();
+        }
+        return size;
+    }
+
+    /**
+     * Index einer Welt: Zellen-Gitter + Referenzzähler pro Struktur
+     */
+    private static final class WorldIndex {
+        final Map<Long, Set<IndexedStructure>> cells = new HashMap<>();
+        final Map<IndexedStructure, Integer> refCounts = new HashMap<>();
+        // Indexierte Chunks → referenzierte Strukturen (leer = ohne Treffer)
+        final Map<Long, List<IndexedStructure>> chunks = new HashMap<>();
+
+        /**
+         * @return true wenn die Struktur neu ins Gitter kam
+         */
+        boolean retain(IndexedStructure structure) {
+            if (refCounts.merge(structure, 1, Integer::sum) > 1) {
+                return false;
+            }
+
+            for (int cellX = structure.minX >> CELL_SHIFT; cellX <= structure.maxX >> CELL_SHIFT; cellX++) {
+                for (int cellZ = structure.minZ >> CELL_SHIFT; cellZ <= structure.maxZ >> CELL_SHIFT; cellZ++) {
+                    cells.computeIfAbsent(cellKey(cellX, cellZ), k -> new HashSet<>()).add(structure);
+                }
+            }
+            return true;
+        }
+
+        void release(IndexedStructure structure) {
+            Integer remaining = refCounts.computeIfPresent(structure, (s, count) -> count > 1 ? count - 1 : null);
+            if (remaining != null) {
+                return;
+            }
+
+            for (int cellX = structure.minX >> CELL_SHIFT; cellX <= structure.maxX >> CELL_SHIFT; cellX++) {
+                for (int cellZ = structure.minZ >> CELL_SHIFT; cellZ <= structure.maxZ >> CELL_SHIFT; cellZ++) {
+                    long cellKey = cellKey(cellX, cellZ);
+                    Set<IndexedStructure> cell = cells.get(cellKey);
+                    if (cell != null && cell.remove(structure) && cell.isEmpty()) {
+                        cells.remove(cellKey);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Struktur-Typ mit horizontaler Bounding-Box
+     */
+    private record IndexedStructure(NamespacedKey key, int minX, int minZ, int maxX, int maxZ) {
+
+        static IndexedStructure of(NamespacedKey key, BoundingBox box) {
+            return new IndexedStructure(key,
+                    (int) Math.floor(box.getMinX()), (int) Math.floor(box.getMinZ()),
+                    (int) Math.floor(box.getMaxX()), (int) Math.floor(box.getMaxZ()));
+        }
+
+        double distanceSquared(double x, double z) {
+            double dx = Math.max(0, Math.max(minX - x, x - maxX));
+            double dz = Math.max(0, Math.max(minZ - z, z - maxZ));
+            return dx * dx + dz * dz;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package de.questplugin.mobs.abilities;
 
 import de.questplugin.mobs.api.AbstractMobAbility;
 import de.questplugin.mobs.api.CustomMob;
+import de.questplugin.mobs.api.CustomMobAPI;
 import org.bukkit.*;
 import org.bukkit.entity.*;
 import org.bukkit.potion.PotionEffect;
@@ -11,7 +12,6 @@ import org.bukkit.util.Vector;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Erweiterte Mob-Abilities
@@ -83,12 +83,7 @@ public class AdvancedAbilities {
         protected boolean performAbility(CustomMob mob) {
             LivingEntity entity = mob.getEntity();
 
-            Collection<Player> nearby = entity.getWorld()
-                    .getNearbyEntities(entity.getLocation(), 12, 12, 12)
-                    .stream()
-                    .filter(e -> e instanceof Player)
-                    .map(e -> (Player) e)
-                    .collect(Collectors.toList());
+            Collection<Player> nearby = findNearbyPlayers(entity, 12);
 
             if (nearby.isEmpty()) return false;
 
@@ -215,12 +210,7 @@ public class AdvancedAbilities {
         protected boolean performAbility(CustomMob mob) {
             LivingEntity entity = mob.getEntity();
 
-            Collection<Player> nearby = entity.getWorld()
-                    .getNearbyEntities(entity.getLocation(), 8, 8, 8)
-                    .stream()
-                    .filter(e -> e instanceof Player)
-                    .map(e -> (Player) e)
-                    .collect(Collectors.toList());
+            Collection<Player> nearby = findNearbyPlayers(entity, 8);
 
             if (nearby.isEmpty()) return false;
 
@@ -390,12 +380,7 @@ public class AdvancedAbilities {
         protected boolean performAbility(CustomMob mob) {
             LivingEntity entity = mob.getEntity();
 
-            Collection<Player> nearby = entity.getWorld()
-                    .getNearbyEntities(entity.getLocation(), 10, 10, 10)
-                    .stream()
-                    .filter(e -> e instanceof Player)
-                    .map(e -> (Player) e)
-                    .collect(Collectors.toList());
+            Collection<Player> nearby = findNearbyPlayers(entity, 10);
 
             if (nearby.isEmpty()) return false;
 
@@ -480,12 +465,7 @@ public class AdvancedAbilities {
         protected boolean performAbility(CustomMob mob) {
             LivingEntity entity = mob.getEntity();
 
-            Collection<Player> nearby = entity.getWorld()
-                    .getNearbyEntities(entity.getLocation(), 8, 8, 8)
-                    .stream()
-                    .filter(e -> e instanceof Player)
-                    .map(e -> (Player) e)
-                    .collect(Collectors.toList());
+            Collection<Player> nearby = findNearbyPlayers(entity, 8);
 
             if (nearby.isEmpty()) return false;
 
@@ -522,12 +502,7 @@ public class AdvancedAbilities {
         protected boolean performAbility(CustomMob mob) {
             LivingEntity entity = mob.getEntity();
 
-            Collection<Player> nearby = entity.getWorld()
-                    .getNearbyEntities(entity.getLocation(), 10, 10, 10)
-                    .stream()
-                    .filter(e -> e instanceof Player)
-                    .map(e -> (Player) e)
-                    .collect(Collectors.toList());
+            Collection<Player> nearby = findNearbyPlayers(entity, 10);
 
             if (nearby.isEmpty()) return false;
 
@@ -561,12 +536,7 @@ public class AdvancedAbilities {
         protected boolean performAbility(CustomMob mob) {
             LivingEntity entity = mob.getEntity();
 
-            Collection<Player> nearby = entity.getWorld()
-                    .getNearbyEntities(entity.getLocation(), 12, 12, 12)
-                    .stream()
-                    .filter(e -> e instanceof Player)
-                    .map(e -> (Player) e)
-                    .collect(Collectors.toList());
+            Collection<Player> nearby = findNearbyPlayers(entity, 12);
 
             if (nearby.isEmpty()) return false;
 
@@ -780,12 +750,7 @@ public class AdvancedAbilities {
         protected boolean performAbility(CustomMob mob) {
             LivingEntity entity = mob.getEntity();
 
-            Collection<Player> nearby = entity.getWorld()
-                    .getNearbyEntities(entity.getLocation(), 15, 15, 15)
-                    .stream()
-                    .filter(e -> e instanceof Player)
-                    .map(e -> (Player) e)
-                    .collect(Collectors.toList());
+            Collection<Player> nearby = findNearbyPlayers(entity, 15);
 
             if (nearby.isEmpty()) return false;
 
@@ -961,17 +926,18 @@ public class AdvancedAbilities {
 
     // ==================== HELPER ====================
 
+    /**
+     * Nächster Spieler aus dem Spieler-Snapshot des Ticks (kein Entity-Scan)
+     */
     private static Player findNearestPlayer(LivingEntity entity, double range) {
-        return entity.getWorld()
-                .getNearbyEntities(entity.getLocation(), range, range, range)
-                .stream()
-                .filter(e -> e instanceof Player)
-                .map(e -> (Player) e)
-                .min((p1, p2) -> Double.compare(
-                        p1.getLocation().distance(entity.getLocation()),
-                        p2.getLocation().distance(entity.getLocation())
-                ))
-                .orElse(null);
+        return CustomMobAPI.getInstance().getPlayerGrid().getNearestPlayer(entity.getLocation(), range);
+    }
+
+    /**
+     * Spieler im Umkreis aus dem Spieler-Snapshot des Ticks (kein Entity-Scan)
+     */
+    private static List<Player> findNearbyPlayers(LivingEntity entity, double range) {
+        return CustomMobAPI.getInstance().getPlayerGrid().getPlayersNear(entity.getLocation(), range);
     }
 
     /**
@@ -982,6 +948,10 @@ public class AdvancedAbilities {
      * @return Nächste Entity oder null
      */
     public static LivingEntity getNearestEntity(LivingEntity source, double range, Class<? extends LivingEntity> entityClass) {
+        if (entityClass == Player.class && !(source instanceof Player)) {
+            return findNearestPlayer(source, range);
+        }
+
         return source.getWorld()
                 .getNearbyEntities(source.getLocation(), range, range, range)
                 .stream()
@@ -0,0 +1,119 @@
+package de.questplugin.mobs.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Hierarchisches Timing-Wheel für Ability-Cooldowns (Tick-basiert)
+ *
+ * Abilities werden auf ihren Ready-Tick eingeplant statt jeden Tick
+ * isReady() abzufragen. advance() besucht nur Slots der vergangenen Ticks
+ * und liefert nur Abilities deren Cooldown tatsächlich abgelaufen ist.
+ *
+ * - Ebene 0: 64 Slots à 1 Tick
+ * - Ebene 1: 64 Slots à 64 Ticks (bis ~3,4 Minuten)
+ * - Überlauf: alles darüber, wird alle 4096 Ticks neu verteilt
+ *
+ * Nur vom Main-Thread nutzen.
+ */
+final class AbilityTimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long LEVEL1_SPAN = (long) SLOTS * SLOTS;
+
+    private final List<List<Entry>> level0 = createSlots();
+    private final List<List<Entry>> level1 = createSlots();
+    private List<Entry> overflow = new ArrayList<>();
+
+    private long currentTick;
+    private int size;
+
+    AbilityTimingWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    private static List<List<Entry>> createSlots() {
+        List<List<Entry>> slots = new ArrayList<>(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+        return slots;
+    }
+
+    /**
+     * Plant eine Ability für den angegebenen Tick ein
+     * (Ticks in der Vergangenheit feuern beim nächsten advance)
+     */
+    void schedule(CustomMob mob, MobAbility ability, long readyTick) {
+        place(new Entry(mob, ability, Math.max(readyTick, currentTick + 1)));
+        size++;
+    }
+
+    private void place(Entry entry) {
+        long delta = entry.readyTick - currentTick;
+
+        if (delta < SLOTS) {
+            level0.get((int) (entry.readyTick & SLOT_MASK)).add(entry);
+        } else if (delta < LEVEL1_SPAN) {
+            level1.get((int) ((entry.readyTick >> SLOT_BITS) & SLOT_MASK)).add(entry);
+        } else {
+            overflow.add(entry);
+        }
+    }
+
+    /**
+     * Läuft bis einschließlich nowTick und meldet alle fälligen Einträge
+     */
+    void advance(long nowTick, BiConsumer<CustomMob, MobAbility> expired) {
+        while (currentTick < nowTick) {
+            long tick = ++currentTick;
+
+            // Überlauf → Wheel (vor Ebene 1, gleicher Tick kann beides betreffen)
+            if ((tick & (LEVEL1_SPAN - 1)) == 0 && !overflow.isEmpty()) {
+                List<Entry> pending = overflow;
+                overflow = new ArrayList<>();
+                pending.forEach(this::place);
+            }
+
+            // Ebene 1 → Ebene 0
+            if ((tick & SLOT_MASK) == 0) {
+                List<Entry> slot = level1.get((int) ((tick >> SLOT_BITS) & SLOT_MASK));
+                if (!slot.isEmpty()) {
+                    List<Entry> pending = new ArrayList<>(slot);
+                    slot.clear();
+                    pending.forEach(this::place);
+                }
+            }
+
+            List<Entry> due = level0.get((int) (tick & SLOT_MASK));
+            if (due.isEmpty()) {
+                continue;
+            }
+
+            List<Entry> fired = new ArrayList<>(due);
+            due.clear();
+            size -= fired.size();
+
+            for (Entry entry : fired) {
+                expired.accept(entry.mob, entry.ability);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        level0.forEach(List::clear);
+        level1.forEach(List::clear);
+        overflow.clear();
+        size = 0;
+    }
+
+    private record Entry(CustomMob mob, MobAbility ability, long readyTick) {
+    }
+}
@@ -1,7 +1,12 @@
 package de.questplugin.mobs.api;
 
+import org.bukkit.Bukkit;
+
 /**
  * Abstrakte Basis-Klasse für Fähigkeiten
+ *
+ * Cooldown läuft über den Server-Tick (kein currentTimeMillis()-Polling),
+ * der MobAbilityManager plant die Ability über getReadyTick() im Timing-Wheel ein.
  */
 public abstract class AbstractMobAbility implements MobAbility {
 
@@ -12,7 +17,7 @@ public abstract class AbstractMobAbility implements MobAbility {
     public AbstractMobAbility(String name, long cooldownTicks) {
         this.name = name;
         this.cooldown = cooldownTicks;
-        this.lastUsed = 0;
+        this.lastUsed = -cooldownTicks; // Sofort bereit
     }
 
     @Override
@@ -27,19 +32,39 @@ public abstract class AbstractMobAbility implements MobAbility {
 
     @Override
     public boolean isReady() {
-        long currentTime = System.currentTimeMillis();
-        long cooldownMs = (cooldown * 50); // Ticks zu Millisekunden
-        return (currentTime - lastUsed) >= cooldownMs;
+        return Bukkit.getCurrentTick() - lastUsed >= cooldown;
+    }
+
+    /**
+     * Server-Tick ab dem die Fähigkeit wieder bereit ist
+     */
+    public long getReadyTick() {
+        return lastUsed + cooldown;
+    }
+
+    @Override
+    public void setLastUsedTick(long tick) {
+        this.lastUsed = tick;
     }
 
     @Override
+    public long getLastUsedTick() {
+        return lastUsed;
+    }
+
+    /**
+     * Adapter für Aufrufer mit Epoch-Millisekunden (intern: Server-Tick)
+     */
+    @Override
+    @Deprecated
     public void setLastUsed(long time) {
-        this.lastUsed = time;
+        this.lastUsed = Bukkit.getCurrentTick() - (System.currentTimeMillis() - time) / 50L;
     }
 
     @Override
+    @Deprecated
     public long getLastUsed() {
-        return lastUsed;
+        return System.currentTimeMillis() - (Bukkit.getCurrentTick() - lastUsed) * 50L;
     }
 
     @Override
@@ -50,7 +75,7 @@ public abstract class AbstractMobAbility implements MobAbility {
 
         boolean success = performAbility(mob);
         if (success) {
-            setLastUsed(System.currentTimeMillis());
+            setLastUsedTick(Bukkit.getCurrentTick());
         }
         return success;
     }
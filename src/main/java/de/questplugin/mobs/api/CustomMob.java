@@ -2,7 +2,6 @@ package de.questplugin.mobs.api;
 
 import de.questplugin.enums.MobEquipmentSlot;
 import de.questplugin.utils.EquipmentHelper;
-import org.bukkit.NamespacedKey;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.*;
@@ -23,12 +22,22 @@ public class CustomMob {
     private final CustomMobAPI api;
     private final List<MobAbility> abilities;
     private final Map<String, Object> customData;
+    // Abilities mit abgelaufenem Cooldown (vom Timing-Wheel befüllt)
+    private final Deque<MobAbility> readyAbilities = new ArrayDeque<>();
     private int level;
     private String customName;
     private LivingEntity defendTarget;
     private double defendRadius;
     private DefendMode defendMode;
     private org.bukkit.Location guardPosition;
+    private UUID raidId;
+    private String eliteId;
+    // Während restore()/batch() nicht bei jeder Änderung in den PDC schreiben
+    private boolean restoring;
+
+    // Chunk-Index der Registry (nur von CustomMobRegistry gesetzt)
+    volatile UUID indexedWorld;
+    volatile long indexedChunk;
 
     public CustomMob(LivingEntity entity, CustomMobAPI api) {
         this.entity = entity;
@@ -41,8 +50,7 @@ public class CustomMob {
         this.defendMode = DefendMode.PASSIVE;
         this.guardPosition = null;
 
-        NamespacedKey key = new NamespacedKey(api.getPlugin().getName().toLowerCase(), "custom_mob");
-        entity.getPersistentDataContainer().set(key, PersistentDataType.BYTE, (byte) 1);
+        entity.getPersistentDataContainer().set(api.getMarkerKey(), PersistentDataType.BYTE, (byte) 1);
     }
 
     // ==================== ATTRIBUTE ====================
@@ -50,6 +58,7 @@ public class CustomMob {
     public CustomMob setLevel(int level) {
         this.level = level;
         updateAttributes();
+        changed();
         return this;
     }
 
@@ -216,7 +225,12 @@ public class CustomMob {
     // ==================== DEFEND SYSTEM ====================
 
     public CustomMob setDefendTarget(LivingEntity target, double radius, DefendMode mode) {
+        LivingEntity previous = this.defendTarget;
         this.defendTarget = target;
+        api.getRegistry().updateDefendTarget(this,
+                previous != null ? previous.getUniqueId() : null,
+                target != null ? target.getUniqueId() : null);
+
         this.defendRadius = radius;
         this.defendMode = mode;
 
@@ -232,6 +246,7 @@ public class CustomMob {
                 }
             }
         }
+        changed();
         return this;
     }
 
@@ -252,6 +267,7 @@ public class CustomMob {
         if (mode == DefendMode.GUARD_POSITION && defendTarget != null) {
             this.guardPosition = defendTarget.getLocation().clone();
         }
+        changed();
         return this;
     }
 
@@ -261,6 +277,7 @@ public class CustomMob {
 
     public CustomMob setGuardPosition(org.bukkit.Location position) {
         this.guardPosition = position.clone();
+        changed();
         return this;
     }
 
@@ -269,11 +286,15 @@ public class CustomMob {
     }
 
     public CustomMob removeDefendTarget() {
+        if (defendTarget != null) {
+            api.getRegistry().updateDefendTarget(this, defendTarget.getUniqueId(), null);
+        }
         this.defendTarget = null;
         if (entity instanceof Tameable tameable) {
             tameable.setTamed(false);
             tameable.setOwner(null);
         }
+        changed();
         return this;
     }
 
@@ -295,21 +316,70 @@ public class CustomMob {
         }
     }
 
+    // ==================== RAID ====================
+
+    /**
+     * Ordnet den Mob einem Raid zu (Raid-Owner UUID, null = kein Raid)
+     */
+    public CustomMob setRaidId(UUID raidId) {
+        UUID previous = this.raidId;
+        this.raidId = raidId;
+        api.getRegistry().updateRaid(this, previous, raidId);
+        changed();
+        return this;
+    }
+
+    public UUID getRaidId() {
+        return raidId;
+    }
+
+    // ==================== ELITE ====================
+
+    /**
+     * Elite-Config-ID (null = kein Elite aus der Config)
+     * Wird zusätzlich als eigener PDC-Stempel gespeichert (Spawn-Budget)
+     */
+    public CustomMob setEliteId(String eliteId) {
+        this.eliteId = eliteId;
+        if (eliteId != null) {
+            entity.getPersistentDataContainer().set(api.getEliteKey(), PersistentDataType.STRING, eliteId);
+        } else {
+            entity.getPersistentDataContainer().remove(api.getEliteKey());
+        }
+        changed();
+        return this;
+    }
+
+    public String getEliteId() {
+        return eliteId;
+    }
+
     // ==================== ABILITIES ====================
 
     public CustomMob addAbility(MobAbility ability) {
         abilities.add(ability);
         ability.onApply(this);
+        api.getAbilityManager().onAbilityAdded(this, ability);
+        changed();
         return this;
     }
 
     public CustomMob removeAbility(MobAbility ability) {
         if (abilities.remove(ability)) {
+            readyAbilities.remove(ability);
             ability.onRemove(this);
+            changed();
         }
         return this;
     }
 
+    /**
+     * Abilities deren Cooldown abgelaufen ist (in Reihenfolge des Ablaufs)
+     */
+    Deque<MobAbility> getReadyAbilities() {
+        return readyAbilities;
+    }
+
     public List<MobAbility> getAbilities() {
         return Collections.unmodifiableList(abilities);
     }
@@ -350,6 +420,89 @@ public class CustomMob {
         }
     }
 
+    // ==================== PERSISTENZ ====================
+
+    /**
+     * Schreibt Level, Abilities, Defend-Einstellungen und Elite-ID binär in den PDC
+     */
+    public void persist() {
+        if (entity == null || !entity.isValid()) {
+            return;
+        }
+        entity.getPersistentDataContainer().set(api.getStateKey(), PersistentDataType.BYTE_ARRAY,
+                CustomMobCodec.encode(this, api.getAbilityManager()));
+    }
+
+    /**
+     * Zustand nach jeder Änderung in den PDC schreiben - überlebt so auch
+     * Abstürze und Entfern-Pfade ohne Unload-Handler (wenige Bytes, nur bei Änderung)
+     */
+    private void changed() {
+        if (!restoring) {
+            persist();
+        }
+    }
+
+    /**
+     * Führt mehrere Änderungen aus und schreibt den PDC nur einmal am Ende
+     * (Builder-Spawn statt encode() pro Setter)
+     */
+    void batch(Runnable changes) {
+        restoring = true;
+        try {
+            changes.run();
+        } finally {
+            restoring = false;
+        }
+        persist();
+    }
+
+    /**
+     * Stellt den Zustand aus dem PDC wieder her (vor registry.add aufrufen)
+     *
+     * Attribute und Name hat Minecraft bereits gespeichert - Level wird
+     * nur übernommen, nicht erneut angewendet. Nicht geladene
+     * Defend-Targets entfallen.
+     */
+    void restore(CustomMobCodec.State state) {
+        restoring = true;
+        try {
+            restoreState(state);
+        } finally {
+            restoring = false;
+        }
+    }
+
+    private void restoreState(CustomMobCodec.State state) {
+        this.level = state.level();
+        this.customName = entity.getCustomName();
+        // Stempel nachziehen (Mobs aus Zeiten vor dem Elite-ID-Stempel)
+        setEliteId(state.eliteId());
+        if (state.raidId() != null) {
+            setRaidId(state.raidId());
+        }
+
+        if (state.defendTargetId() != null &&
+                org.bukkit.Bukkit.getEntity(state.defendTargetId()) instanceof LivingEntity target) {
+            setDefendTarget(target, state.defendRadius(), state.defendMode());
+        } else {
+            this.defendRadius = state.defendRadius();
+            this.defendMode = state.defendMode();
+        }
+
+        double[] guard = state.guardPosition();
+        if (guard != null) {
+            this.guardPosition = new org.bukkit.Location(entity.getWorld(), guard[0], guard[1], guard[2]);
+        }
+
+        for (String abilityId : state.abilityIds()) {
+            MobAbility ability = api.getAbilityManager().createAbilityInstance(abilityId);
+            if (ability != null) {
+                addAbility(ability);
+            }
+        }
+    }
+
     // ==================== INTERNAL ====================
 
     private void updateAttributes() {
@@ -368,6 +521,7 @@ public class CustomMob {
     public void cleanup() {
         abilities.forEach(ability -> ability.onRemove(this));
         abilities.clear();
+        readyAbilities.clear();
         customData.clear();
         defendTarget = null;
         guardPosition = null;
@@ -1,28 +1,52 @@
 package de.questplugin.mobs.api;
 
 import de.questplugin.OraxenQuestPlugin;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.persistence.PersistentDataType;
 
 import java.util.*;
 
 /**
  * Haupt-API für Custom Mob Verwaltung
+ *
+ * Mobs liegen in einer thread-safe Registry mit Indizes nach
+ * Defend-Target, Welt/Chunk und Raid (siehe CustomMobRegistry).
+ * Tod, Despawn und Chunk-Unload entfernen Mobs automatisch
+ * (siehe CustomMobLifecycleListener).
+ *
+ * Zustand liegt binär im PDC der Entity (siehe CustomMobCodec) und wird
+ * beim Laden der Entities wieder registriert - entladene Mobs belegen
+ * keinen Speicher.
  */
 public class CustomMobAPI {
 
     private static CustomMobAPI instance;
     private final OraxenQuestPlugin plugin;
-    private final Map<UUID, CustomMob> activeMobs;
+    private final CustomMobRegistry registry;
     private final MobAbilityManager abilityManager;
     private final DefendBehaviorManager defendManager;
+    private final PlayerGrid playerGrid;
+    private final CustomMobLifecycleListener lifecycle;
+    private final NamespacedKey markerKey;
+    private final NamespacedKey stateKey;
+    private final NamespacedKey eliteKey;
 
     public CustomMobAPI(OraxenQuestPlugin plugin) {
         this.plugin = plugin;
-        this.activeMobs = new HashMap<>();
+        this.markerKey = new NamespacedKey(plugin.getName().toLowerCase(), "custom_mob");
+        this.stateKey = new NamespacedKey(plugin.getName().toLowerCase(), "custom_mob_state");
+        this.eliteKey = new NamespacedKey(plugin.getName().toLowerCase(), "elite_id");
+        this.registry = new CustomMobRegistry();
+        this.playerGrid = new PlayerGrid();
         this.abilityManager = new MobAbilityManager(this);
         this.defendManager = new DefendBehaviorManager(this);
+        this.lifecycle = new CustomMobLifecycleListener(this);
         instance = this;
     }
 
@@ -39,7 +63,7 @@ public class CustomMobAPI {
 
         LivingEntity entity = (LivingEntity) location.getWorld().spawnEntity(location, type);
         CustomMob customMob = new CustomMob(entity, this);
-        activeMobs.put(entity.getUniqueId(), customMob);
+        registry.add(customMob);
 
         return customMob;
     }
@@ -55,28 +79,28 @@ public class CustomMobAPI {
      * Holt einen Custom Mob anhand der Entity UUID
      */
     public CustomMob getCustomMob(UUID entityUUID) {
-        return activeMobs.get(entityUUID);
+        return registry.get(entityUUID);
     }
 
     /**
      * Holt einen Custom Mob anhand der Entity
      */
     public CustomMob getCustomMob(LivingEntity entity) {
-        return activeMobs.get(entity.getUniqueId());
+        return registry.get(entity.getUniqueId());
     }
 
     /**
      * Prüft ob eine Entity ein Custom Mob ist
      */
     public boolean isCustomMob(LivingEntity entity) {
-        return activeMobs.containsKey(entity.getUniqueId());
+        return registry.contains(entity.getUniqueId());
     }
 
     /**
      * Entfernt einen Custom Mob aus der Verwaltung
      */
     public void removeCustomMob(UUID entityUUID) {
-        CustomMob mob = activeMobs.remove(entityUUID);
+        CustomMob mob = registry.remove(entityUUID);
         if (mob != null) {
             mob.cleanup();
         }
@@ -86,7 +110,110 @@ public class CustomMobAPI {
      * Holt alle aktiven Custom Mobs
      */
     public Collection<CustomMob> getActiveMobs() {
-        return Collections.unmodifiableCollection(activeMobs.values());
+        return registry.all();
+    }
+
+    /**
+     * Anzahl registrierter Custom Mobs
+     */
+    public int getActiveMobCount() {
+        return registry.size();
+    }
+
+    /**
+     * Alle Mobs die diese Entity verteidigen
+     */
+    public Set<CustomMob> getMobsDefending(LivingEntity target) {
+        return registry.getByDefendTarget(target.getUniqueId());
+    }
+
+    /**
+     * Alle Mobs eines Raids (Raid-Owner UUID)
+     */
+    public Set<CustomMob> getRaidMobs(UUID raidId) {
+        return registry.getByRaid(raidId);
+    }
+
+    /**
+     * Alle Mobs die zuletzt diesem Chunk zugeordnet wurden
+     */
+    public Set<CustomMob> getMobsInChunk(Chunk chunk) {
+        return registry.getByChunk(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Anzahl Mobs in einer Welt
+     */
+    public int getMobCount(World world) {
+        return registry.countInWorld(world.getUID());
+    }
+
+    /**
+     * Registry-Gauge: aktive Mobs, Peak und Entfernungen nach Grund
+     */
+    public String getRegistryStatus() {
+        return lifecycle.getStatus();
+    }
+
+    /**
+     * Registriert eine geladene Entity anhand ihres PDC-Zustands
+     *
+     * @return Wiederhergestellter Mob, null wenn kein (gültiger) Zustand vorliegt
+     */
+    CustomMob rehydrate(LivingEntity entity) {
+        if (registry.contains(entity.getUniqueId())) {
+            return registry.get(entity.getUniqueId());
+        }
+
+        byte[] data = entity.getPersistentDataContainer().get(stateKey, PersistentDataType.BYTE_ARRAY);
+        if (data == null) {
+            return null;
+        }
+
+        CustomMobCodec.State state = CustomMobCodec.decode(data);
+        if (state == null) {
+            plugin.getPluginLogger().debug(() -> "Ungültiger Custom-Mob-Zustand: " + entity.getUniqueId());
+            return null;
+        }
+
+        // Raids überleben keinen Neustart - verwaiste Raid-Mobs entfernen
+        if (state.raidId() != null &&
+                (plugin.getRaidManager() == null || !plugin.getRaidManager().hasActiveRaid(state.raidId()))) {
+            plugin.getPluginLogger().debug(() -> "Verwaisten Raid-Mob entfernt: " + entity.getUniqueId());
+            entity.remove();
+            return null;
+        }
+
+        CustomMob mob = new CustomMob(entity, this);
+        mob.restore(state);
+        registry.add(mob);
+        return mob;
+    }
+
+    NamespacedKey getMarkerKey() {
+        return markerKey;
+    }
+
+    NamespacedKey getStateKey() {
+        return stateKey;
+    }
+
+    NamespacedKey getEliteKey() {
+        return eliteKey;
+    }
+
+    /**
+     * Liest die Elite-ID direkt aus dem PDC der Entity
+     * (auch für noch nicht registrierte/rehydrierte Mobs)
+     *
+     * @return Elite-ID oder null
+     */
+    public String getEliteId(Entity entity) {
+        return entity.getPersistentDataContainer().get(eliteKey, PersistentDataType.STRING);
+    }
+
+    CustomMobRegistry getRegistry() {
+        return registry;
     }
 
     /**
@@ -96,6 +223,13 @@ public class CustomMobAPI {
         return abilityManager;
     }
 
+    /**
+     * Spieler-Snapshot des aktuellen Ticks für Umkreis-Abfragen
+     */
+    public PlayerGrid getPlayerGrid() {
+        return playerGrid;
+    }
+
     public OraxenQuestPlugin getPlugin() {
         return plugin;
     }
@@ -108,8 +242,14 @@ public class CustomMobAPI {
      * Cleanup aller Mobs
      */
     public void shutdown() {
-        activeMobs.values().forEach(CustomMob::cleanup);
-        activeMobs.clear();
+        lifecycle.shutdown();
+        registry.all().forEach(mob -> {
+            if (mob.isAlive()) {
+                mob.persist();
+            }
+            mob.cleanup();
+        });
+        registry.clear();
         abilityManager.shutdown();
         defendManager.shutdown();
     }
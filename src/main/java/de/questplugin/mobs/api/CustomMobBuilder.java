@@ -29,6 +29,7 @@ public class CustomMobBuilder {
     private Double defendRadius;
     private DefendMode defendMode;
     private final List<MobAbility> abilities = new ArrayList<>();
+    private String eliteId;
 
     // NEU: Equipment System
     private final Map<MobEquipmentSlot, EquipmentEntry> equipment = new HashMap<>();
@@ -49,6 +50,14 @@ public class CustomMobBuilder {
         return this;
     }
 
+    /**
+     * Elite-Config-ID (wird mit dem Mob im PDC gespeichert)
+     */
+    public CustomMobBuilder withEliteId(String eliteId) {
+        this.eliteId = eliteId;
+        return this;
+    }
+
     public CustomMobBuilder withLevel(int level) {
         this.level = level;
         return this;
@@ -188,58 +197,64 @@ public class CustomMobBuilder {
 
         CustomMob mob = api.spawnCustomMob(location, type);
 
-        // Basis-Attribute
-        mob.setLevel(level);
+        // Alle Setter ohne eigenes persist() - ein PDC-Schreibvorgang am Ende
+        mob.batch(() -> {
+            // Basis-Attribute
+            mob.setLevel(level);
 
-        if (name != null) {
-            mob.setCustomName(name);
-        }
+            if (name != null) {
+                mob.setCustomName(name);
+            }
 
-        if (health != null) {
-            mob.setHealth(health);
-        }
+            if (eliteId != null) {
+                mob.setEliteId(eliteId);
+            }
 
-        if (damage != null) {
-            mob.setDamage(damage);
-        }
+            if (health != null) {
+                mob.setHealth(health);
+            }
 
-        if (speed != null) {
-            mob.setSpeed(speed);
-        }
+            if (damage != null) {
+                mob.setDamage(damage);
+            }
 
-        if (scale != null) {
-            mob.setScale(scale);
-        }
+            if (speed != null) {
+                mob.setSpeed(speed);
+            }
 
-        // Defend-System
-        if (defendTarget != null) {
-            DefendMode mode = defendMode != null ? defendMode : DefendMode.PASSIVE;
-            if (defendRadius != null) {
-                mob.setDefendTarget(defendTarget, defendRadius, mode);
-            } else {
-                mob.setDefendTarget(defendTarget, mode);
+            if (scale != null) {
+                mob.setScale(scale);
             }
-        }
 
-        // Abilities
-        abilities.forEach(mob::addAbility);
+            // Defend-System
+            if (defendTarget != null) {
+                DefendMode mode = defendMode != null ? defendMode : DefendMode.PASSIVE;
+                if (defendRadius != null) {
+                    mob.setDefendTarget(defendTarget, defendRadius, mode);
+                } else {
+                    mob.setDefendTarget(defendTarget, mode);
+                }
+            }
 
-        // Equipment
-        if (!equipment.isEmpty() && mob.canWearEquipment()) {
-            api.getPlugin().getPluginLogger().debug("Setze " + equipment.size() +
-                    " Equipment-Items für " + type);
+            // Abilities
+            abilities.forEach(mob::addAbility);
 
-            for (Map.Entry<MobEquipmentSlot, EquipmentEntry> entry : equipment.entrySet()) {
-                EquipmentEntry equipEntry = entry.getValue();
-                mob.setEquipment(entry.getKey(), equipEntry.item, equipEntry.dropChance);
-            }
-        }
+            // Equipment
+            if (!equipment.isEmpty() && mob.canWearEquipment()) {
+                api.getPlugin().getPluginLogger().debug("Setze " + equipment.size() +
+                        " Equipment-Items für " + type);
 
-        // Equipment-Config anwenden (falls aktiviert)
-        if (useEquipmentConfig) {
-            mob.applyEquipmentConfig(api.getPlugin().getMobEquipmentManager());
-        }
+                for (Map.Entry<MobEquipmentSlot, EquipmentEntry> entry : equipment.entrySet()) {
+                    EquipmentEntry equipEntry = entry.getValue();
+                    mob.setEquipment(entry.getKey(), equipEntry.item, equipEntry.dropChance);
+                }
+            }
 
+            // Equipment-Config anwenden (falls aktiviert)
+            if (useEquipmentConfig) {
+                mob.applyEquipmentConfig(api.getPlugin().getMobEquipmentManager());
+            }
+        });
         return mob;
     }
 
@@ -0,0 +1,143 @@
+package de.questplugin.mobs.api;
+
+import org.bukkit.Location;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binäres PDC-Format für CustomMob-Zustand
+ *
+ * Layout (Version 2, Version 1 = ohne Raid-Flag):
+ * - byte    Version
+ * - short   Level
+ * - byte    Flags (Elite-ID, Defend-Target, Guard-Position, Raid)
+ * - byte    DefendMode (Ordinal)
+ * - float   Defend-Radius
+ * - [UTF]   Elite-ID
+ * - [long²] Defend-Target UUID
+ * - [long²] Raid-Owner UUID
+ * - [float³] Guard-Position (Welt = Welt des Mobs)
+ * - byte    Anzahl Abilities, danach je UTF Ability-ID
+ *
+ * Typisch 20-60 Bytes pro Mob. Attribute, Name und Equipment speichert
+ * Minecraft selbst und werden nicht dupliziert.
+ */
+final class CustomMobCodec {
+
+    private static final byte VERSION = 2;
+
+    private static final int FLAG_ELITE = 1;
+    private static final int FLAG_DEFEND_TARGET = 1 << 1;
+    private static final int FLAG_GUARD = 1 << 2;
+    private static final int FLAG_RAID = 1 << 3;
+
+    private static final DefendMode[] MODES = DefendMode.values();
+
+    private CustomMobCodec() {
+    }
+
+    static byte[] encode(CustomMob mob, MobAbilityManager abilityManager) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            String eliteId = mob.getEliteId();
+            UUID targetId = mob.getDefendTarget() != null ? mob.getDefendTarget().getUniqueId() : null;
+            Location guard = mob.getGuardPosition();
+            UUID raidId = mob.getRaidId();
+
+            int flags = 0;
+            if (eliteId != null) flags |= FLAG_ELITE;
+            if (targetId != null) flags |= FLAG_DEFEND_TARGET;
+            if (guard != null) flags |= FLAG_GUARD;
+            if (raidId != null) flags |= FLAG_RAID;
+
+            out.writeByte(VERSION);
+            out.writeShort(mob.getLevel());
+            out.writeByte(flags);
+            out.writeByte(mob.getDefendMode().ordinal());
+            out.writeFloat((float) mob.getDefendRadius());
+
+            if (eliteId != null) {
+                out.writeUTF(eliteId);
+            }
+            if (targetId != null) {
+                out.writeLong(targetId.getMostSignificantBits());
+                out.writeLong(targetId.getLeastSignificantBits());
+            }
+            if (raidId != null) {
+                out.writeLong(raidId.getMostSignificantBits());
+                out.writeLong(raidId.getLeastSignificantBits());
+            }
+            if (guard != null) {
+                out.writeFloat((float) guard.getX());
+                out.writeFloat((float) guard.getY());
+                out.writeFloat((float) guard.getZ());
+            }
+
+            // Nur registrierte Abilities sind wiederherstellbar
+            List<String> abilityIds = new ArrayList<>(mob.getAbilities().size());
+            for (MobAbility ability : mob.getAbilities()) {
+                String id = abilityManager.getAbilityId(ability);
+                if (id != null) {
+                    abilityIds.add(id);
+                }
+            }
+
+            out.writeByte(Math.min(abilityIds.size(), 255));
+            for (int i = 0; i < Math.min(abilityIds.size(), 255); i++) {
+                out.writeUTF(abilityIds.get(i));
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStream wirft nicht
+            throw new IllegalStateException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return Zustand oder null bei unbekannter Version / defekten Daten
+     */
+    static State decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version < 1 || version > VERSION) {
+                return null;
+            }
+
+            int level = in.readShort();
+            int flags = in.readUnsignedByte();
+            int modeOrdinal = in.readUnsignedByte();
+            DefendMode mode = modeOrdinal < MODES.length ? MODES[modeOrdinal] : DefendMode.PASSIVE;
+            double defendRadius = in.readFloat();
+
+            String eliteId = (flags & FLAG_ELITE) != 0 ? in.readUTF() : null;
+            UUID targetId = (flags & FLAG_DEFEND_TARGET) != 0 ? new UUID(in.readLong(), in.readLong()) : null;
+            UUID raidId = (flags & FLAG_RAID) != 0 ? new UUID(in.readLong(), in.readLong()) : null;
+            double[] guard = (flags & FLAG_GUARD) != 0
+                    ? new double[]{in.readFloat(), in.readFloat(), in.readFloat()}
+                    : null;
+
+            int abilityCount = in.readUnsignedByte();
+            List<String> abilityIds = new ArrayList<>(abilityCount);
+            for (int i = 0; i < abilityCount; i++) {
+                abilityIds.add(in.readUTF());
+            }
+
+            return new State(level, eliteId, mode, defendRadius, targetId, raidId, guard, abilityIds);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    record State(int level, String eliteId, DefendMode defendMode, double defendRadius,
+                 UUID defendTargetId, UUID raidId, double[] guardPosition, List<String> abilityIds) {
+    }
+}
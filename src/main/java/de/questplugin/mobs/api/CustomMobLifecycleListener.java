@@ -0,0 +1,196 @@
+package de.questplugin.mobs.api;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hält die Custom-Mob-Registry synchron zum Entity-Lebenszyklus
+ *
+ * - Tod (MONITOR, nach Drop-/Defend-Listenern)
+ * - Entfernen aus der Welt (Despawn, remove(), Dimensionswechsel)
+ * - Chunk-Unload (Zustand wird vorher in den PDC geschrieben)
+ * - Chunk-Load / Add-to-World (z.B. nach Portal): Mobs mit PDC-Zustand
+ *   werden wieder registriert
+ * - Periodischer Abgleich für verpasste Events
+ *
+ * Entfernte Mobs werden per cleanup() freigegeben (Abilities, Daten,
+ * Referenzen) - die Registry wächst nicht über die Uptime.
+ */
+public class CustomMobLifecycleListener implements Listener {
+
+    // Abgleich + Registry-Gauge alle 5 Minuten
+    private static final long RECONCILE_INTERVAL = 20L * 60 * 5;
+
+    private final CustomMobAPI api;
+    private BukkitTask reconcileTask;
+
+    private int peakSize;
+    private long removedDeath;
+    private long removedWorld;
+    private long removedUnload;
+    private long removedReconcile;
+    private long rehydrated;
+
+    CustomMobLifecycleListener(CustomMobAPI api) {
+        this.api = api;
+        Bukkit.getPluginManager().registerEvents(this, api.getPlugin());
+        startReconcileTask();
+
+        // Bereits geladene Entities (Start / Reload) nach dem ersten Tick übernehmen
+        Bukkit.getScheduler().runTask(api.getPlugin(), this::rehydrateLoadedWorlds);
+    }
+
+    // ==================== LADEN ====================
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof LivingEntity living) {
+                rehydrate(living);
+            }
+        }
+    }
+
+    /**
+     * Dimensionswechsel entfernt den Mob aus der Registry (Remove-from-World),
+     * die neue Entity trägt den PDC-Zustand und wird hier wieder registriert.
+     * Erst im nächsten Tick - im Add-Event darf die Welt nicht verändert werden
+     * (verwaiste Raid-Mobs werden beim Rehydrieren entfernt).
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAddToWorld(EntityAddToWorldEvent event) {
+        if (!(event.getEntity() instanceof LivingEntity living) ||
+                !living.getPersistentDataContainer().has(api.getStateKey(), PersistentDataType.BYTE_ARRAY) ||
+                api.getRegistry().contains(living.getUniqueId())) {
+            return;
+        }
+
+        Bukkit.getScheduler().runTask(api.getPlugin(), () -> {
+            if (living.isValid()) {
+                rehydrate(living);
+            }
+        });
+    }
+
+    private void rehydrateLoadedWorlds() {
+        for (World world : Bukkit.getWorlds()) {
+            for (LivingEntity entity : world.getLivingEntities()) {
+                rehydrate(entity);
+            }
+        }
+        api.getPlugin().getPluginLogger().debug(() -> "Custom Mobs aus PDC wiederhergestellt: " + rehydrated);
+    }
+
+    private void rehydrate(LivingEntity entity) {
+        if (entity.isDead() || api.getRegistry().contains(entity.getUniqueId())) {
+            return;
+        }
+        if (api.rehydrate(entity) != null) {
+            rehydrated++;
+        }
+    }
+
+    // ==================== ENTFERNEN ====================
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(EntityDeathEvent event) {
+        if (evict(event.getEntity().getUniqueId())) {
+            removedDeath++;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        if (evict(event.getEntity().getUniqueId())) {
+            removedWorld++;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            CustomMob mob = api.getRegistry().get(entity.getUniqueId());
+            if (mob == null) continue;
+
+            if (mob.isAlive()) {
+                mob.persist();
+            }
+            if (evict(entity.getUniqueId())) {
+                removedUnload++;
+            }
+        }
+    }
+
+    private boolean evict(UUID entityId) {
+        if (!api.getRegistry().contains(entityId)) {
+            return false;
+        }
+        trackPeak();
+        api.removeCustomMob(entityId);
+        return true;
+    }
+
+    private void trackPeak() {
+        peakSize = Math.max(peakSize, api.getRegistry().size());
+    }
+
+    /**
+     * Entfernt Einträge deren Entity nicht mehr gültig ist (verpasste Events)
+     */
+    public int reconcile() {
+        trackPeak();
+
+        List<UUID> stale = new ArrayList<>();
+        for (CustomMob mob : api.getRegistry().all()) {
+            if (!mob.isAlive()) {
+                stale.add(mob.getEntity().getUniqueId());
+            }
+        }
+
+        stale.forEach(api::removeCustomMob);
+        removedReconcile += stale.size();
+        return stale.size();
+    }
+
+    private void startReconcileTask() {
+        reconcileTask = Bukkit.getScheduler().runTaskTimer(api.getPlugin(), () -> {
+            int stale = reconcile();
+            api.getPlugin().getPluginLogger().debug(() -> "Custom-Mob Registry: " + getStatus() +
+                    (stale > 0 ? " - " + stale + " verwaiste Einträge bereinigt" : ""));
+        }, RECONCILE_INTERVAL, RECONCILE_INTERVAL);
+    }
+
+    /**
+     * Registry-Gauge für Logs/Commands
+     */
+    public String getStatus() {
+        return api.getRegistry().size() + " aktiv (Peak " + Math.max(peakSize, api.getRegistry().size()) +
+                "), entfernt: Tod " + removedDeath +
+                ", Welt " + removedWorld +
+                ", Unload " + removedUnload +
+                ", Abgleich " + removedReconcile +
+                ", wiederhergestellt: " + rehydrated;
+    }
+
+    public void shutdown() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package de.questplugin.mobs.api;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe Registry aller Custom Mobs mit Sekundär-Indizes
+ *
+ * - Entity-UUID → Mob (Haupt-Index)
+ * - Defend-Target-UUID → Mobs (Damage/Death-Events ohne Full-Scan)
+ * - Welt → Chunk → Mobs (Aktivierungs-Reichweite, Chunk-Unload)
+ * - Raid (Owner-UUID) → Mobs
+ *
+ * Schreiben nur vom Main-Thread, Lesen auch async (Concurrent-Maps,
+ * schwach konsistente Iteration). Mobs wandern zwischen Chunks - der
+ * Chunk-Index wird über refreshChunks() periodisch nachgeführt.
+ */
+final class CustomMobRegistry {
+
+    private final Map<UUID, CustomMob> byEntity = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<CustomMob>> byDefendTarget = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<Long, Set<CustomMob>>> byChunk = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<CustomMob>> byRaid = new ConcurrentHashMap<>();
+
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    // ==================== SCHREIBEN (Main-Thread) ====================
+
+    void add(CustomMob mob) {
+        byEntity.put(mob.getEntity().getUniqueId(), mob);
+        indexChunk(mob);
+
+        if (mob.getDefendTarget() != null) {
+            addTo(byDefendTarget, mob.getDefendTarget().getUniqueId(), mob);
+        }
+        if (mob.getRaidId() != null) {
+            addTo(byRaid, mob.getRaidId(), mob);
+        }
+    }
+
+    CustomMob remove(UUID entityId) {
+        CustomMob mob = byEntity.remove(entityId);
+        if (mob == null) {
+            return null;
+        }
+
+        unindexChunk(mob);
+        if (mob.getDefendTarget() != null) {
+            removeFrom(byDefendTarget, mob.getDefendTarget().getUniqueId(), mob);
+        }
+        if (mob.getRaidId() != null) {
+            removeFrom(byRaid, mob.getRaidId(), mob);
+        }
+        return mob;
+    }
+
+    void updateDefendTarget(CustomMob mob, UUID oldTarget, UUID newTarget) {
+        if (!byEntity.containsKey(mob.getEntity().getUniqueId())) {
+            return;
+        }
+        if (oldTarget != null) {
+            removeFrom(byDefendTarget, oldTarget, mob);
+        }
+        if (newTarget != null) {
+            addTo(byDefendTarget, newTarget, mob);
+        }
+    }
+
+    void updateRaid(CustomMob mob, UUID oldRaid, UUID newRaid) {
+        if (!byEntity.containsKey(mob.getEntity().getUniqueId())) {
+            return;
+        }
+        if (oldRaid != null) {
+            removeFrom(byRaid, oldRaid, mob);
+        }
+        if (newRaid != null) {
+            addTo(byRaid, newRaid, mob);
+        }
+    }
+
+    /**
+     * Ordnet alle Mobs ihrem aktuellen Chunk zu (nur bei Chunk-Wechsel wird umsortiert)
+     */
+    void refreshChunks() {
+        for (CustomMob mob : byEntity.values()) {
+            if (!mob.isAlive()) continue;
+
+            Location location = mob.getEntity().getLocation(scratch);
+            UUID worldId = location.getWorld().getUID();
+            long chunkKey = chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+
+            if (chunkKey != mob.indexedChunk || !worldId.equals(mob.indexedWorld)) {
+                unindexChunk(mob);
+                indexChunk(mob, worldId, chunkKey);
+            }
+        }
+    }
+
+    private void indexChunk(CustomMob mob) {
+        Location location = mob.getEntity().getLocation(scratch);
+        indexChunk(mob, location.getWorld().getUID(),
+                chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+    }
+
+    private void indexChunk(CustomMob mob, UUID worldId, long chunkKey) {
+        mob.indexedWorld = worldId;
+        mob.indexedChunk = chunkKey;
+        byChunk.computeIfAbsent(worldId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(chunkKey, k -> ConcurrentHashMap.newKeySet())
+                .add(mob);
+    }
+
+    private void unindexChunk(CustomMob mob) {
+        UUID worldId = mob.indexedWorld;
+        if (worldId == null) {
+            return;
+        }
+
+        Map<Long, Set<CustomMob>> chunks = byChunk.get(worldId);
+        if (chunks != null) {
+            chunks.computeIfPresent(mob.indexedChunk, (key, mobs) -> {
+                mobs.remove(mob);
+                return mobs.isEmpty() ? null : mobs;
+            });
+        }
+        mob.indexedWorld = null;
+    }
+
+    private static void addTo(Map<UUID, Set<CustomMob>> index, UUID key, CustomMob mob) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(mob);
+    }
+
+    private static void removeFrom(Map<UUID, Set<CustomMob>> index, UUID key, CustomMob mob) {
+        index.computeIfPresent(key, (k, mobs) -> {
+            mobs.remove(mob);
+            return mobs.isEmpty() ? null : mobs;
+        });
+    }
+
+    void clear() {
+        byEntity.clear();
+        byDefendTarget.clear();
+        byChunk.clear();
+        byRaid.clear();
+    }
+
+    // ==================== LESEN (auch async) ====================
+
+    CustomMob get(UUID entityId) {
+        return byEntity.get(entityId);
+    }
+
+    boolean contains(UUID entityId) {
+        return byEntity.containsKey(entityId);
+    }
+
+    Collection<CustomMob> all() {
+        return Collections.unmodifiableCollection(byEntity.values());
+    }
+
+    int size() {
+        return byEntity.size();
+    }
+
+    Set<CustomMob> getByDefendTarget(UUID targetId) {
+        return unmodifiable(byDefendTarget.get(targetId));
+    }
+
+    Set<CustomMob> getByRaid(UUID raidId) {
+        return unmodifiable(byRaid.get(raidId));
+    }
+
+    Set<CustomMob> getByChunk(UUID worldId, int chunkX, int chunkZ) {
+        Map<Long, Set<CustomMob>> chunks = byChunk.get(worldId);
+        return chunks != null ? unmodifiable(chunks.get(chunkKey(chunkX, chunkZ))) : Collections.emptySet();
+    }
+
+    /**
+     * Anzahl Mobs einer Welt (Summe über belegte Chunks)
+     */
+    int countInWorld(UUID worldId) {
+        Map<Long, Set<CustomMob>> chunks = byChunk.get(worldId);
+        if (chunks == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Set<CustomMob> mobs : chunks.values()) {
+            count += mobs.size();
+        }
+        return count;
+    }
+
+    /**
+     * Besucht alle Mobs mit Defend-Target
+     */
+    void forEachDefending(Consumer<CustomMob> action) {
+        for (Set<CustomMob> mobs : byDefendTarget.values()) {
+            mobs.forEach(action);
+        }
+    }
+
+    /**
+     * Besucht alle Mobs in Chunks innerhalb von chunkRadius um einen Spieler (Main-Thread)
+     */
+    void forEachNearPlayers(int chunkRadius, Consumer<CustomMob> action) {
+        for (Map.Entry<UUID, Map<Long, Set<CustomMob>>> worldEntry : byChunk.entrySet()) {
+            World world = Bukkit.getWorld(worldEntry.getKey());
+            if (world == null) continue;
+
+            List<Player> players = world.getPlayers();
+            if (players.isEmpty()) continue;
+
+            int[] playerChunks = new int[players.size() * 2];
+            for (int i = 0; i < players.size(); i++) {
+                Location location = players.get(i).getLocation(scratch);
+                playerChunks[i * 2] = location.getBlockX() >> 4;
+                playerChunks[i * 2 + 1] = location.getBlockZ() >> 4;
+            }
+
+            for (Map.Entry<Long, Set<CustomMob>> bucket : worldEntry.getValue().entrySet()) {
+                long key = bucket.getKey();
+                if (isNearAny((int) (key >> 32), (int) key, playerChunks, chunkRadius)) {
+                    bucket.getValue().forEach(action);
+                }
+            }
+        }
+    }
+
+    private static boolean isNearAny(int chunkX, int chunkZ, int[] playerChunks, int chunkRadius) {
+        for (int i = 0; i < playerChunks.length; i += 2) {
+            if (Math.abs(playerChunks[i] - chunkX) <= chunkRadius &&
+                    Math.abs(playerChunks[i + 1] - chunkZ) <= chunkRadius) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<CustomMob> unmodifiable(Set<CustomMob> mobs) {
+        return mobs != null ? Collections.unmodifiableSet(mobs) : Collections.emptySet();
+    }
+
+    static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
@@ -11,6 +11,8 @@ import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.entity.EntityTargetEvent;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.List;
+
 /**
  * Verwaltet das Defend-Verhalten von Custom Mobs
  */
@@ -30,7 +32,7 @@ public class DefendBehaviorManager implements Listener {
      */
     private void startDefendChecker() {
         defendTask = Bukkit.getScheduler().runTaskTimer(api.getPlugin(), () -> {
-            api.getActiveMobs().forEach(this::checkDefendBehavior);
+            api.getRegistry().forEachDefending(this::checkDefendBehavior);
         }, 20L, 10L); // Alle 0.5 Sekunden
     }
 
@@ -63,18 +65,11 @@ public class DefendBehaviorManager implements Listener {
                 }
 
                 // Suche nach Angreifern
-                defendTarget.getWorld().getNearbyEntities(
-                                defendTarget.getLocation(),
-                                mob.getDefendRadius(),
-                                mob.getDefendRadius(),
-                                mob.getDefendRadius()
-                        ).stream()
-                        .filter(e -> e instanceof LivingEntity)
-                        .map(e -> (LivingEntity) e)
-                        .filter(e -> e != entity && e != defendTarget)
-                        .filter(e -> isHostile(e, defendTarget) || isHostileType(e))
-                        .findFirst()
-                        .ifPresent(attacker -> mobEntity.setTarget(attacker));
+                LivingEntity attacker = findAttacker(defendTarget.getLocation(),
+                        mob.getDefendRadius(), entity, defendTarget);
+                if (attacker != null) {
+                    mobEntity.setTarget(attacker);
+                }
                 break;
 
             case FOLLOW_ONLY:
@@ -103,22 +98,32 @@ public class DefendBehaviorManager implements Listener {
                 }
 
                 // Greife Entities in Guard-Radius an
-                guardPos.getWorld().getNearbyEntities(
-                                guardPos,
-                                mob.getDefendRadius(),
-                                mob.getDefendRadius(),
-                                mob.getDefendRadius()
-                        ).stream()
-                        .filter(e -> e instanceof LivingEntity)
-                        .map(e -> (LivingEntity) e)
-                        .filter(e -> e != entity && e != defendTarget)
-                        .filter(e -> isHostile(e, defendTarget) || isHostileType(e))
-                        .findFirst()
-                        .ifPresent(attacker -> mobEntity.setTarget(attacker));
+                LivingEntity intruder = findAttacker(guardPos, mob.getDefendRadius(), entity, defendTarget);
+                if (intruder != null) {
+                    mobEntity.setTarget(intruder);
+                }
                 break;
         }
     }
 
+    /**
+     * Sucht einen feindlichen Mob im Radius
+     *
+     * Angreifer sind immer Mobs (Target gesetzt oder Monster) - daher
+     * typ-gefilterter Lookup statt Stream über alle Entities.
+     */
+    private LivingEntity findAttacker(org.bukkit.Location center, double radius,
+                                      LivingEntity self, LivingEntity defendTarget) {
+        for (Mob candidate : center.getWorld().getNearbyEntitiesByType(Mob.class, center, radius)) {
+            if (candidate == self || candidate == defendTarget) continue;
+
+            if (isHostile(candidate, defendTarget) || isHostileType(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
     /**
      * Prüft ob eine Entity feindselig gegenüber dem Target ist
      */
@@ -144,12 +149,12 @@ public class DefendBehaviorManager implements Listener {
         if (!(event.getEntity() instanceof LivingEntity victim)) return;
         if (!(event.getDamager() instanceof LivingEntity attacker)) return;
 
-        // Finde alle Mobs die dieses Target verteidigen
-        api.getActiveMobs().stream()
-                .filter(mob -> mob.getDefendTarget() == victim)
-                .filter(CustomMob::isAlive)
-                .filter(mob -> mob.getDefendMode() != DefendMode.FOLLOW_ONLY) // FOLLOW_ONLY greift nie an
-                .forEach(mob -> mob.attackDefender(attacker));
+        // Finde alle Mobs die dieses Target verteidigen (Index-Lookup)
+        for (CustomMob mob : api.getMobsDefending(victim)) {
+            if (mob.isAlive() && mob.getDefendMode() != DefendMode.FOLLOW_ONLY) { // FOLLOW_ONLY greift nie an
+                mob.attackDefender(attacker);
+            }
+        }
     }
 
     /**
@@ -159,10 +164,10 @@ public class DefendBehaviorManager implements Listener {
     public void onDefendTargetDeath(EntityDeathEvent event) {
         LivingEntity deadEntity = event.getEntity();
 
-        // Entferne Target von allen Mobs die es verteidigt haben
-        api.getActiveMobs().stream()
-                .filter(mob -> mob.getDefendTarget() == deadEntity)
-                .forEach(CustomMob::removeDefendTarget);
+        // Entferne Target von allen Mobs die es verteidigt haben (Index-Lookup)
+        for (CustomMob mob : List.copyOf(api.getMobsDefending(deadEntity))) {
+            mob.removeDefendTarget();
+        }
     }
 
     /**
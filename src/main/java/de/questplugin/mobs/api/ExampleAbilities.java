@@ -28,12 +28,8 @@ public class ExampleAbilities {
             LivingEntity entity = mob.getEntity();
 
             // Finde nahe Spieler
-            Collection<Player> nearbyPlayers = entity.getWorld().getNearbyEntities(
-                            entity.getLocation(), 20, 20, 20
-                    ).stream()
-                    .filter(e -> e instanceof Player)
-                    .map(e -> (Player) e)
-                    .toList();
+            Collection<Player> nearbyPlayers = CustomMobAPI.getInstance().getPlayerGrid()
+                    .getPlayersNear(entity.getLocation(), 20);
 
             if (nearbyPlayers.isEmpty()) return false;
 
@@ -111,12 +107,8 @@ public class ExampleAbilities {
             LivingEntity entity = mob.getEntity();
 
             // Finde nahe Spieler
-            Collection<Player> nearbyPlayers = entity.getWorld().getNearbyEntities(
-                            entity.getLocation(), 5, 5, 5
-                    ).stream()
-                    .filter(e -> e instanceof Player)
-                    .map(e -> (Player) e)
-                    .toList();
+            Collection<Player> nearbyPlayers = CustomMobAPI.getInstance().getPlayerGrid()
+                    .getPlayersNear(entity.getLocation(), 5);
 
             if (nearbyPlayers.isEmpty()) return false;
 
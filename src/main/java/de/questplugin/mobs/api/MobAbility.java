@@ -1,5 +1,7 @@
 package de.questplugin.mobs.api;
 
+import org.bukkit.Bukkit;
+
 /**
  * Interface für Mob-Fähigkeiten
  */
@@ -37,12 +39,34 @@ public interface MobAbility {
     boolean isReady();
 
     /**
-     * Setzt den letzten Ausführungszeitpunkt
+     * Setzt den letzten Ausführungszeitpunkt (Epoch-Millisekunden)
+     *
+     * @deprecated Cooldowns laufen über Server-Ticks, siehe {@link #setLastUsedTick(long)}
      */
+    @Deprecated
     void setLastUsed(long time);
 
     /**
-     * Holt den letzten Ausführungszeitpunkt
+     * Holt den letzten Ausführungszeitpunkt (Epoch-Millisekunden)
+     *
+     * @deprecated Cooldowns laufen über Server-Ticks, siehe {@link #getLastUsedTick()}
      */
+    @Deprecated
     long getLastUsed();
+
+    /**
+     * Setzt den letzten Ausführungszeitpunkt (Server-Tick)
+     * Default rechnet auf die Millisekunden-Methode um (bestehende Implementierungen)
+     */
+    default void setLastUsedTick(long tick) {
+        setLastUsed(System.currentTimeMillis() - (Bukkit.getCurrentTick() - tick) * 50L);
+    }
+
+    /**
+     * Holt den letzten Ausführungszeitpunkt (Server-Tick)
+     * Default rechnet aus der Millisekunden-Methode um (bestehende Implementierungen)
+     */
+    default long getLastUsedTick() {
+        return Bukkit.getCurrentTick() - (System.currentTimeMillis() - getLastUsed()) / 50L;
+    }
 }
\ No newline at end of file
@@ -3,30 +3,107 @@ package de.questplugin.mobs.api;
 import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Verwaltet alle Mob-Fähigkeiten
+ *
+ * Aktivierungs-Reichweite: Abilities laufen nur für Mobs in Chunks im
+ * Umkreis von Spielern (custom-mobs.activation-range), weit entfernte
+ * Mobs bleiben ruhend bis sich ein Spieler nähert.
+ *
+ * Cooldowns: Abilities liegen bis zum Ready-Tick im Timing-Wheel und
+ * landen danach in der Ready-Queue des Mobs - kein isReady()-Polling
+ * über alle Abilities.
  */
 public class MobAbilityManager {
 
+    private static final long TICK_INTERVAL = 20L;
+    // Alle 5 Ticker-Läufe Mobs neu den Chunks zuordnen
+    private static final int REBUCKET_INTERVAL = 5;
+
     private final CustomMobAPI api;
     private final Map<String, MobAbility> registeredAbilities;
+    // Ability-Klasse → registrierte ID (für PDC-Persistenz)
+    private final Map<Class<?>, String> abilityIds = new HashMap<>();
+    private final AbilityTimingWheel cooldownWheel = new AbilityTimingWheel(Bukkit.getCurrentTick());
+    private int activationChunkRadius;
+    private int runsSinceRebucket;
     private BukkitTask abilityTask;
 
     public MobAbilityManager(CustomMobAPI api) {
         this.api = api;
         this.registeredAbilities = new HashMap<>();
+        reloadActivationRange();
         startAbilityTicker();
     }
 
+    /**
+     * Liest custom-mobs.activation-range (Blöcke) neu
+     */
+    public void reloadActivationRange() {
+        int range = api.getPlugin().getConfig().getInt("custom-mobs.activation-range", 48);
+        activationChunkRadius = Math.max(0, (range + 15) >> 4);
+    }
+
+    /**
+     * Neue Ability am Mob: sofort bereit oder bis zum Ready-Tick einplanen
+     */
+    void onAbilityAdded(CustomMob mob, MobAbility ability) {
+        if (ability.isReady()) {
+            mob.getReadyAbilities().add(ability);
+        } else {
+            cooldownWheel.schedule(mob, ability, readyTick(ability));
+        }
+    }
+
+    private long readyTick(MobAbility ability) {
+        if (ability instanceof AbstractMobAbility abstractAbility) {
+            return abstractAbility.getReadyTick();
+        }
+        return Math.max(Bukkit.getCurrentTick() + 1L, ability.getLastUsedTick() + ability.getCooldown());
+    }
+
+    /**
+     * Cooldown abgelaufen - tote Mobs / entfernte Abilities verfallen hier
+     */
+    private void onCooldownExpired(CustomMob mob, MobAbility ability) {
+        if (!mob.isAlive() || !mob.getAbilities().contains(ability)) {
+            return;
+        }
+
+        Deque<MobAbility> ready = mob.getReadyAbilities();
+        if (!ready.contains(ability)) {
+            ready.add(ability);
+        }
+    }
+
+    /**
+     * Anzahl Abilities die auf ihren Cooldown warten
+     */
+    public int getPendingCooldowns() {
+        return cooldownWheel.size();
+    }
+
     /**
      * Registriert eine neue Fähigkeit
      */
     public void registerAbility(String id, MobAbility ability) {
         registeredAbilities.put(id, ability);
+        abilityIds.put(ability.getClass(), id);
+    }
+
+    /**
+     * Registrierte ID einer Ability-Instanz
+     *
+     * @return ID oder null wenn die Klasse nicht registriert ist
+     */
+    public String getAbilityId(MobAbility ability) {
+        return abilityIds.get(ability.getClass());
     }
 
     /**
@@ -71,18 +148,43 @@ public class MobAbilityManager {
      */
     private void startAbilityTicker() {
         abilityTask = Bukkit.getScheduler().runTaskTimer(api.getPlugin(), () -> {
-            api.getActiveMobs().forEach(mob -> {
-                if (mob.isAlive() && !mob.getAbilities().isEmpty()) {
-                    // Zufällige Chance für Fähigkeitsausführung
-                    if (Math.random() < 0.1) { // 10% Chance pro Tick
-                        mob.getAbilities().stream()
-                                .filter(MobAbility::isReady)
-                                .findFirst()
-                                .ifPresent(ability -> ability.execute(mob));
-                    }
-                }
-            });
-        }, 20L, 20L); // Alle 1 Sekunde
+            cooldownWheel.advance(Bukkit.getCurrentTick(), this::onCooldownExpired);
+
+            if (++runsSinceRebucket >= REBUCKET_INTERVAL) {
+                runsSinceRebucket = 0;
+                api.getRegistry().refreshChunks();
+            }
+
+            // Nur Chunks in Spieler-Nähe
+            api.getRegistry().forEachNearPlayers(activationChunkRadius, this::tickMob);
+        }, TICK_INTERVAL, TICK_INTERVAL); // Alle 1 Sekunde
+    }
+
+    private void tickMob(CustomMob mob) {
+        Deque<MobAbility> ready = mob.getReadyAbilities();
+        if (ready.isEmpty() || !mob.isAlive()) {
+            return;
+        }
+
+        // Zufällige Chance für Fähigkeitsausführung
+        if (ThreadLocalRandom.current().nextDouble() >= 0.1) { // 10% Chance pro Tick
+            return;
+        }
+
+        MobAbility ability = ready.peekFirst();
+
+        // Extern ausgelöst (z.B. triggerAbilities) - neu einplanen
+        if (!ability.isReady()) {
+            ready.pollFirst();
+            cooldownWheel.schedule(mob, ability, readyTick(ability));
+            return;
+        }
+
+        // Fehlschlag (z.B. kein Ziel) → bleibt bereit
+        if (ability.execute(mob)) {
+            ready.pollFirst();
+            cooldownWheel.schedule(mob, ability, readyTick(ability));
+        }
     }
 
     /**
@@ -92,5 +194,6 @@ public class MobAbilityManager {
         if (abilityTask != null) {
             abilityTask.cancel();
         }
+        cooldownWheel.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+package de.questplugin.mobs.api;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Spieler-Positionen pro Welt als Gitter (Snapshot pro Tick)
+ *
+ * Wird beim ersten Zugriff in einem Tick einmal aus den Online-Spielern
+ * gebaut. Abfragen prüfen nur die Zellen um die Location - kein
+ * getNearbyEntities(), keine Streams über den Entity-Tracker.
+ *
+ * Semantik wie getNearbyEntities(loc, r, r, r): Box mit Halbkante r.
+ * Nur vom Main-Thread nutzen.
+ */
+public final class PlayerGrid {
+
+    // 32x32 Block-Zellen
+    private static final int CELL_SHIFT = 5;
+
+    private final Map<UUID, Map<Long, List<PlayerPosition>>> worlds = new HashMap<>();
+    private int snapshotTick = Integer.MIN_VALUE;
+
+    PlayerGrid() {
+    }
+
+    private void ensureFresh() {
+        int tick = Bukkit.getCurrentTick();
+        if (tick == snapshotTick) {
+            return;
+        }
+        snapshotTick = tick;
+        worlds.clear();
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Location location = player.getLocation();
+            PlayerPosition position = new PlayerPosition(player,
+                    location.getX(), location.getY(), location.getZ());
+
+            worlds.computeIfAbsent(location.getWorld().getUID(), id -> new HashMap<>())
+                    .computeIfAbsent(cellKey(location.getBlockX() >> CELL_SHIFT,
+                            location.getBlockZ() >> CELL_SHIFT), k -> new ArrayList<>(2))
+                    .add(position);
+        }
+    }
+
+    /**
+     * Alle Spieler in der Box mit Halbkante range um die Location
+     *
+     * @return Neue Liste (darf behalten werden, z.B. für verzögerte Effekte)
+     */
+    public List<Player> getPlayersNear(Location center, double range) {
+        List<Player> result = new ArrayList<>();
+        Map<Long, List<PlayerPosition>> cells = cellsOf(center.getWorld());
+        if (cells == null) {
+            return result;
+        }
+
+        double x = center.getX();
+        double y = center.getY();
+        double z = center.getZ();
+
+        int minCellX = (int) Math.floor(x - range) >> CELL_SHIFT;
+        int maxCellX = (int) Math.floor(x + range) >> CELL_SHIFT;
+        int minCellZ = (int) Math.floor(z - range) >> CELL_SHIFT;
+        int maxCellZ = (int) Math.floor(z + range) >> CELL_SHIFT;
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                List<PlayerPosition> cell = cells.get(cellKey(cellX, cellZ));
+                if (cell == null) continue;
+
+                for (PlayerPosition position : cell) {
+                    if (position.inBox(x, y, z, range)) {
+                        result.add(position.player);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Nächster Spieler in der Box mit Halbkante range
+     *
+     * @return Spieler oder null
+     */
+    public Player getNearestPlayer(Location center, double range) {
+        Map<Long, List<PlayerPosition>> cells = cellsOf(center.getWorld());
+        if (cells == null) {
+            return null;
+        }
+
+        double x = center.getX();
+        double y = center.getY();
+        double z = center.getZ();
+
+        int minCellX = (int) Math.floor(x - range) >> CELL_SHIFT;
+        int maxCellX = (int) Math.floor(x + range) >> CELL_SHIFT;
+        int minCellZ = (int) Math.floor(z - range) >> CELL_SHIFT;
+        int maxCellZ = (int) Math.floor(z + range) >> CELL_SHIFT;
+
+        Player nearest = null;
+        double best = Double.MAX_VALUE;
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                List<PlayerPosition> cell = cells.get(cellKey(cellX, cellZ));
+                if (cell == null) continue;
+
+                for (PlayerPosition position : cell) {
+                    if (!position.inBox(x, y, z, range)) continue;
+
+                    double distance = position.distanceSquared(x, y, z);
+                    if (distance < best) {
+                        best = distance;
+                        nearest = position.player;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Prüft ob mindestens ein Spieler in der Box ist
+     */
+    public boolean hasPlayerNear(Location center, double range) {
+        return getNearestPlayer(center, range) != null;
+    }
+
+    private Map<Long, List<PlayerPosition>> cellsOf(World world) {
+        if (world == null) {
+            return null;
+        }
+        ensureFresh();
+        return worlds.get(world.getUID());
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private record PlayerPosition(Player player, double x, double y, double z) {
+
+        boolean inBox(double centerX, double centerY, double centerZ, double range) {
+            return Math.abs(x - centerX) <= range &&
+                    Math.abs(y - centerY) <= range &&
+                    Math.abs(z - centerZ) <= range;
+        }
+
+        double distanceSquared(double centerX, double centerY, double centerZ) {
+            double dx = x - centerX;
+            double dy = y - centerY;
+            double dz = z - centerZ;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
@@ -219,6 +219,7 @@ public class RaidInstance {
                     }
 
                     CustomMob customMob = builder.spawn();
+                    customMob.setRaidId(player.getUniqueId());
                     LivingEntity entity = customMob.getEntity();
 
                     aliveMobs.add(entity.getUniqueId());
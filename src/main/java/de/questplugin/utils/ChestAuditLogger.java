@@ -0,0 +1,224 @@
+package de.questplugin.utils;
+
+import de.questplugin.OraxenQuestPlugin;
+import org.bukkit.Location;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Strukturierter Audit-Kanal für Chest-Events
+ *
+ * Ersetzt die INFO-Logs aus dem ChestListener:
+ * - Standardmäßig AUS (chest-audit.enabled)
+ * - Sampling (sample-rate) und Rate-Limit (max-per-second)
+ * - Schreibt asynchron in eigene Datei statt in die Server-Konsole
+ *
+ * Format: eine Zeile pro Event, key=value
+ */
+public class ChestAuditLogger {
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final OraxenQuestPlugin plugin;
+
+    private volatile boolean enabled;
+    private volatile double sampleRate;
+    private volatile int maxPerSecond;
+
+    // Rate-Limit: Zähler pro Sekunde
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger countThisSecond = new AtomicInteger();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    private ThreadPoolExecutor writerExecutor;
+    private BufferedWriter writer;
+
+    public ChestAuditLogger(OraxenQuestPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    private void loadConfig() {
+        enabled = plugin.getConfig().getBoolean("chest-audit.enabled", false);
+        sampleRate = Math.max(0.0, Math.min(1.0,
+                plugin.getConfig().getDouble("chest-audit.sample-rate", 1.0)));
+        maxPerSecond = Math.max(1, plugin.getConfig().getInt("chest-audit.max-per-second", 20));
+
+        if (!enabled) {
+            return;
+        }
+
+        String fileName = plugin.getConfig().getString("chest-audit.file", "chest-audit.log");
+        Path path = plugin.getDataFolder().toPath().resolve(fileName);
+
+        try {
+            Files.createDirectories(path.getParent());
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            plugin.getPluginLogger().warn("Chest-Audit: Datei '" + fileName +
+                    "' nicht beschreibbar - Audit deaktiviert: " + e.getMessage());
+            enabled = false;
+            return;
+        }
+
+        // Ein Writer-Thread, volle Queue = Event verwerfen (nie Main-Thread blockieren)
+        writerExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "OraxenQuest-ChestAudit");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        plugin.getPluginLogger().info("Chest-Audit aktiv → " + fileName +
+                " (Sample " + sampleRate + ", max " + maxPerSecond + "/s)");
+    }
+
+    /**
+     * Schneller Check ohne Sampling - für teure Vorarbeit (z.B. getHolder())
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Prüft Sampling und Rate-Limit
+     *
+     * Nur wenn true sollte der Aufrufer die Audit-Zeile überhaupt bauen.
+     */
+    public boolean shouldRecord() {
+        if (!enabled) {
+            return false;
+        }
+
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+
+        long second = System.currentTimeMillis() / 1000L;
+        long last = currentSecond.get();
+        if (second != last && currentSecond.compareAndSet(last, second)) {
+            countThisSecond.set(0);
+
+            long skipped = rateLimited.getAndSet(0);
+            if (skipped > 0) {
+                write(LocalDateTime.now().format(TIME_FORMAT) +
+                        " event=rate_limited skipped=" + skipped);
+            }
+        }
+
+        if (countThisSecond.incrementAndGet() > maxPerSecond) {
+            rateLimited.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Schreibt einen Audit-Eintrag (Location wird auf dem aufrufenden Thread gelesen)
+     *
+     * @param event Event-Name (z.B. loot_generate, chest_open)
+     * @param location Kisten-Location
+     * @param details Weitere key=value Felder
+     */
+    public void record(String event, Location location, String details) {
+        if (!enabled) {
+            return;
+        }
+
+        StringBuilder line = new StringBuilder(128)
+                .append(LocalDateTime.now().format(TIME_FORMAT))
+                .append(" event=").append(event);
+
+        if (location != null && location.getWorld() != null) {
+            line.append(" world=").append(location.getWorld().getName())
+                    .append(" x=").append(location.getBlockX())
+                    .append(" y=").append(location.getBlockY())
+                    .append(" z=").append(location.getBlockZ());
+        }
+
+        if (details != null && !details.isEmpty()) {
+            line.append(' ').append(details);
+        }
+
+        write(line.toString());
+    }
+
+    private void write(String line) {
+        ThreadPoolExecutor executor = writerExecutor;
+        BufferedWriter out = writer;
+        if (executor == null || out == null) {
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                out.write(line);
+                out.newLine();
+
+                // Flush erst wenn keine weiteren Zeilen warten
+                if (executor.getQueue().isEmpty()) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                plugin.getLogger().warning("Chest-Audit Schreibfehler: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Lädt Config neu (schließt alte Datei)
+     */
+    public void reload() {
+        shutdown();
+        loadConfig();
+    }
+
+    /**
+     * Schreibt ausstehende Einträge und schließt die Datei
+     */
+    public void shutdown() {
+        enabled = false;
+
+        ThreadPoolExecutor executor = writerExecutor;
+        BufferedWriter out = writer;
+        writerExecutor = null;
+        writer = null;
+
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            out.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Chest-Audit: Fehler beim Schließen: " + e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,9 @@ package de.questplugin.utils;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Fortgeschrittene Drop-Mechanik für Block- und Mob-Drops
  *
@@ -33,6 +36,9 @@ public class DropMechanics {
         VERY_RARE(0.1, 1.0),        // 0.1-1%: Minimal
         LEGENDARY(0.0, 0.1);        // <0.1%: Fast kein Bonus
 
+        // Gecacht - values() klont bei jedem Aufruf das Array
+        private static final DropRarity[] VALUES = values();
+
         final double minChance;
         final double maxChance;
 
@@ -42,7 +48,7 @@ public class DropMechanics {
         }
 
         public static DropRarity fromChance(double chance) {
-            for (DropRarity rarity : values()) {
+            for (DropRarity rarity : VALUES) {
                 if (chance > rarity.minChance && chance <= rarity.maxChance) {
                     return rarity;
                 }
@@ -133,17 +139,20 @@ public class DropMechanics {
      * @return BonusRollResult mit Anzahl Rolls und Chance
      */
     public static BonusRollResult calculateBonusRolls(double baseChance, int enchantLevel) {
+        // Chance pro Roll bleibt gleich!
+        return new BonusRollResult(calculateTotalRolls(baseChance, enchantLevel), baseChance);
+    }
+
+    /**
+     * Gesamtanzahl Rolls (1 + Bonus-Rolls) ohne Result-Objekt
+     */
+    public static int calculateTotalRolls(double baseChance, int enchantLevel) {
         if (enchantLevel <= 0) {
-            return new BonusRollResult(1, baseChance);
+            return 1;
         }
 
         DropRarity rarity = DropRarity.fromChance(baseChance);
-
-        int bonusRolls = calculateBonusRollCount(enchantLevel, rarity);
-        int totalRolls = 1 + bonusRolls;
-
-        // Chance pro Roll bleibt gleich!
-        return new BonusRollResult(totalRolls, baseChance);
+        return 1 + calculateBonusRollCount(enchantLevel, rarity);
     }
 
     /**
@@ -187,50 +196,350 @@ public class DropMechanics {
      * Beste Balance zwischen beiden Systemen
      */
     public static HybridDropResult calculateHybridDrop(double baseChance, int enchantLevel) {
+        return new HybridDropResult(
+                calculateHybridChance(baseChance, enchantLevel),
+                calculateHybridRolls(baseChance, enchantLevel));
+    }
+
+    /**
+     * Hybrid: Chance pro Roll (inkl. Soft Cap) ohne Result-Objekt
+     */
+    public static double calculateHybridChance(double baseChance, int enchantLevel) {
         if (enchantLevel <= 0) {
-            return new HybridDropResult(baseChance, 1);
+            return Math.min(95.0, baseChance);
         }
 
-        DropRarity rarity = DropRarity.fromChance(baseChance);
+        double boostedChance = switch (DropRarity.fromChance(baseChance)) {
+            // 80% Chance-Boost, 20% Bonus-Rolls
+            case COMMON -> baseChance + (enchantLevel * 0.8);
+            // 50% Chance-Boost, 50% Bonus-Rolls
+            case UNCOMMON -> baseChance + (enchantLevel * 0.4);
+            // 20% Chance-Boost, 80% Bonus-Rolls
+            case RARE -> baseChance + (Math.log(enchantLevel + 1) * baseChance * 0.1);
+            // Fast nur Bonus-Rolls
+            case VERY_RARE, LEGENDARY -> baseChance + (Math.sqrt(enchantLevel) * baseChance * 0.05);
+        };
 
-        double boostedChance;
-        int totalRolls;
+        // Soft Cap
+        return Math.min(95.0, boostedChance);
+    }
 
-        switch (rarity) {
-            case COMMON:
-                // 80% Chance-Boost, 20% Bonus-Rolls
-                boostedChance = baseChance + (enchantLevel * 0.8);
-                totalRolls = 1 + (enchantLevel / 5);
-                break;
+    /**
+     * Hybrid: Anzahl Rolls ohne Result-Objekt
+     */
+    public static int calculateHybridRolls(double baseChance, int enchantLevel) {
+        if (enchantLevel <= 0) {
+            return 1;
+        }
 
-            case UNCOMMON:
-                // 50% Chance-Boost, 50% Bonus-Rolls
-                boostedChance = baseChance + (enchantLevel * 0.4);
-                totalRolls = 1 + (enchantLevel / 3);
-                break;
+        return switch (DropRarity.fromChance(baseChance)) {
+            case COMMON -> 1 + (enchantLevel / 5);
+            case UNCOMMON -> 1 + (enchantLevel / 3);
+            case RARE -> 1 + (enchantLevel / 2);
+            case VERY_RARE, LEGENDARY -> 1 + enchantLevel;
+        };
+    }
 
-            case RARE:
-                // 20% Chance-Boost, 80% Bonus-Rolls
-                boostedChance = baseChance + (Math.log(enchantLevel + 1) * baseChance * 0.1);
-                totalRolls = 1 + (enchantLevel / 2);
-                break;
+    // ==================== LOOKUP-TABELLEN ====================
 
-            case VERY_RARE:
-            case LEGENDARY:
-                // Fast nur Bonus-Rolls
-                boostedChance = baseChance + (Math.sqrt(enchantLevel) * baseChance * 0.05);
-                totalRolls = 1 + enchantLevel;
-                break;
+    /**
+     * Vorberechnete Chance/Roll-Tabelle für einen Drop-Eintrag
+     *
+     * Basis-Chancen stehen nach dem Config-Load fest und Enchant-Level sind
+     * kleine Ganzzahlen - daher wird pro Level einmalig berechnet und zur
+     * Laufzeit nur noch per Array-Index gelesen (kein log/sqrt, keine Allokation).
+     * Level über PRECOMPUTED_LEVELS werden on-the-fly berechnet (ebenfalls ohne Allokation).
+     */
+    public static final class LevelTable {
+
+        public static final int PRECOMPUTED_LEVELS = 64;
+
+        private final Formula formula;
+        private final double baseChance;
+        private final double[] chancePerRoll;
+        private final int[] rolls;
+        private final BinomialSampler[] samplers;
+
+        private LevelTable(Formula formula, double baseChance) {
+            this.formula = formula;
+            this.baseChance = baseChance;
+            this.chancePerRoll = new double[PRECOMPUTED_LEVELS + 1];
+            this.rolls = new int[PRECOMPUTED_LEVELS + 1];
+            this.samplers = new BinomialSampler[PRECOMPUTED_LEVELS + 1];
+
+            for (int level = 0; level <= PRECOMPUTED_LEVELS; level++) {
+                chancePerRoll[level] = formula.chance(baseChance, level);
+                rolls[level] = formula.rolls(baseChance, level);
+                samplers[level] = new BinomialSampler(rolls[level], chancePerRoll[level] / 100.0);
+            }
+        }
 
-            default:
-                boostedChance = baseChance;
-                totalRolls = 1;
+        /**
+         * METHODE 1: Ein Roll mit Diminishing-Returns-Chance
+         */
+        public static LevelTable diminishing(double baseChance) {
+            return new LevelTable(Formula.DIMINISHING, baseChance);
         }
 
-        // Soft Cap
-        boostedChance = Math.min(95.0, boostedChance);
+        /**
+         * METHODE 2: Basis-Chance mit Bonus-Rolls
+         */
+        public static LevelTable bonusRolls(double baseChance) {
+            return new LevelTable(Formula.BONUS_ROLLS, baseChance);
+        }
+
+        /**
+         * METHODE 3: Hybrid aus Chance-Boost und Bonus-Rolls
+         */
+        public static LevelTable hybrid(double baseChance) {
+            return new LevelTable(Formula.HYBRID, baseChance);
+        }
+
+        /**
+         * Chance pro Roll in % für das Level
+         */
+        public double chancePerRoll(int level) {
+            if (level <= 0) {
+                return chancePerRoll[0];
+            }
+            return level <= PRECOMPUTED_LEVELS
+                    ? chancePerRoll[level]
+                    : formula.chance(baseChance, level);
+        }
+
+        /**
+         * Anzahl Rolls für das Level
+         */
+        public int rolls(int level) {
+            if (level <= 0) {
+                return rolls[0];
+            }
+            return level <= PRECOMPUTED_LEVELS
+                    ? rolls[level]
+                    : formula.rolls(baseChance, level);
+        }
+
+        /**
+         * Zieht die Anzahl erfolgreicher Rolls direkt aus der Binomialverteilung
+         *
+         * Gleiche Verteilung wie rolls(level) einzelne Würfe mit chancePerRoll(level),
+         * aber nur ein Zufallswert. Level über PRECOMPUTED_LEVELS würfeln einzeln.
+         */
+        public int sampleSuccesses(int level, ThreadLocalRandom random) {
+            if (level <= 0) {
+                return samplers[0].sample(random.nextDouble());
+            }
+            if (level <= PRECOMPUTED_LEVELS) {
+                return samplers[level].sample(random.nextDouble());
+            }
+            return rollSuccesses(level, random);
+        }
+
+        /**
+         * Würfelt jeden Roll einzeln (ohne Binomial-Sampler)
+         */
+        public int rollSuccesses(int level, ThreadLocalRandom random) {
+            int n = rolls(level);
+            double chance = chancePerRoll(level);
+            int successes = 0;
+            for (int i = 0; i < n; i++) {
+                if (random.nextDouble() * 100 < chance) {
+                    successes++;
+                }
+            }
+            return successes;
+        }
+
+        /**
+         * Wie sampleSuccesses, aber bedingt auf mindestens einen Treffer
+         *
+         * Mit binomial und vorberechnetem Level aus dem Sampler, sonst:
+         * ersten Treffer aus der abgeschnittenen geometrischen Verteilung
+         * ziehen, restliche Rolls einzeln würfeln (gleiche Verteilung).
+         */
+        public int sampleAtLeastOne(int level, ThreadLocalRandom random, boolean binomial) {
+            if (binomial && hasPrecomputed(level)) {
+                return samplers[Math.max(0, level)].sampleAtLeastOne(random.nextDouble());
+            }
+
+            int n = rolls(level);
+            double p = Math.min(1.0, chancePerRoll(level) / 100.0);
+            if (n <= 0 || p <= 0.0) {
+                return 0;
+            }
+            if (p >= 1.0) {
+                return n;
+            }
+
+            double none = Math.pow(1.0 - p, n);
+            int first = (int) (Math.log(1.0 - random.nextDouble() * (1.0 - none)) / Math.log1p(-p));
+            first = Math.max(0, Math.min(first, n - 1));
+
+            int successes = 1;
+            for (int i = first + 1; i < n; i++) {
+                if (random.nextDouble() < p) {
+                    successes++;
+                }
+            }
+            return successes;
+        }
+
+        /**
+         * Wahrscheinlichkeit dass kein einziger Roll trifft
+         * (über PRECOMPUTED_LEVELS on-the-fly berechnet)
+         */
+        public double noSuccessChance(int level) {
+            if (hasPrecomputed(level)) {
+                return samplers[Math.max(0, level)].zeroProbability();
+            }
+
+            int n = rolls(level);
+            double p = Math.min(1.0, chancePerRoll(level) / 100.0);
+            return n <= 0 || p <= 0.0 ? 1.0 : Math.pow(1.0 - p, n);
+        }
+
+        public static boolean hasPrecomputed(int level) {
+            return level <= PRECOMPUTED_LEVELS;
+        }
+
+        public double getBaseChance() {
+            return baseChance;
+        }
+    }
+
+    /**
+     * Inverse-CDF-Sampler für Binomial(n, p) mit Guide-Tabelle
+     *
+     * Die CDF wird beim Aufbau berechnet und abgeschnitten, sobald sie in
+     * double-Genauigkeit 1.0 erreicht (bei seltenen Drops nach wenigen Werten).
+     * Die Guide-Tabelle liefert den Startindex, sodass ein Sample im Mittel
+     * mit ein bis zwei Vergleichen auskommt - unabhängig von n.
+     */
+    public static final class BinomialSampler {
+
+        private final double[] cdf;
+        private final int[] guide;
+
+        public BinomialSampler(int n, double p) {
+            this.cdf = buildCdf(Math.max(0, n), Math.max(0.0, Math.min(1.0, p)));
+            this.guide = buildGuide(cdf);
+        }
+
+        /**
+         * Anzahl Erfolge für einen gleichverteilten Wert u aus [0, 1)
+         */
+        public int sample(double u) {
+            int k = guide[(int) (u * guide.length)];
+            while (cdf[k] <= u) {
+                k++;
+            }
+            return k;
+        }
+
+        /**
+         * Anzahl Erfolge bedingt auf mindestens einen Erfolg
+         * (u wird auf den Bereich oberhalb von P(0) abgebildet)
+         */
+        public int sampleAtLeastOne(double u) {
+            double zero = cdf[0];
+            return sample(Math.min(zero + u * (1.0 - zero), Math.nextDown(1.0)));
+        }
+
+        /**
+         * P(0 Erfolge)
+         */
+        public double zeroProbability() {
+            return cdf[0];
+        }
+
+        private static double[] buildCdf(int n, double p) {
+            if (n == 0 || p <= 0.0) {
+                return new double[]{1.0};
+            }
+            if (p >= 1.0) {
+                double[] all = new double[n + 1];
+                all[n] = 1.0;
+                return all;
+            }
+
+            double[] values = new double[n + 1];
+            double ratio = p / (1.0 - p);
+            double pmf = Math.pow(1.0 - p, n);
+            double sum = 0.0;
+            int last = n;
+
+            for (int k = 0; k <= n; k++) {
+                sum += pmf;
+                values[k] = sum;
+                if (sum >= 1.0) {
+                    last = k;
+                    break;
+                }
+                // P(k+1) = P(k) * (n-k)/(k+1) * p/(1-p)
+                pmf = pmf * (n - k) / (k + 1) * ratio;
+            }
+
+            // Rundungsfehler: letzter Wert muss exakt 1.0 sein
+            double[] cdf = Arrays.copyOf(values, last + 1);
+            cdf[last] = 1.0;
+            return cdf;
+        }
+
+        private static int[] buildGuide(double[] cdf) {
+            int[] guide = new int[cdf.length];
+            int k = 0;
+            for (int j = 0; j < guide.length; j++) {
+                double threshold = (double) j / guide.length;
+                while (cdf[k] <= threshold) {
+                    k++;
+                }
+                guide[j] = k;
+            }
+            return guide;
+        }
+    }
+
+    /**
+     * Formeln der drei Drop-Methoden (nur für Tabellen-Aufbau)
+     */
+    private enum Formula {
+        DIMINISHING {
+            @Override
+            double chance(double baseChance, int level) {
+                return calculateDropChance(baseChance, level);
+            }
+
+            @Override
+            int rolls(double baseChance, int level) {
+                return 1;
+            }
+        },
+        BONUS_ROLLS {
+            @Override
+            double chance(double baseChance, int level) {
+                return baseChance;
+            }
+
+            @Override
+            int rolls(double baseChance, int level) {
+                return calculateTotalRolls(baseChance, level);
+            }
+        },
+        HYBRID {
+            @Override
+            double chance(double baseChance, int level) {
+                return calculateHybridChance(baseChance, level);
+            }
+
+            @Override
+            int rolls(double baseChance, int level) {
+                return calculateHybridRolls(baseChance, level);
+            }
+        };
+
+        abstract double chance(double baseChance, int level);
 
-        return new HybridDropResult(boostedChance, totalRolls);
+        abstract int rolls(double baseChance, int level);
     }
 
     // ==================== AMOUNT CALCULATION ====================
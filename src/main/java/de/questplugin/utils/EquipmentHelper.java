@@ -69,7 +69,7 @@ public class EquipmentHelper {
             double roll = random.nextDouble() * 100;
             boolean success = roll < entry.getChance();
 
-            if (plugin.getConfig().getBoolean("debug-mode", false)) {
+            if (plugin.getPluginLogger().isDebugEnabled()) {
                 plugin.getPluginLogger().debug("  Equipment: " + entry.getOraxenItemId());
                 plugin.getPluginLogger().debug("    Slot: " + entry.getSlot().getDisplayName());
                 plugin.getPluginLogger().debug("    Chance: " + entry.getChance() + "%");
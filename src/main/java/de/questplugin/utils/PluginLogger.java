@@ -2,29 +2,45 @@ package de.questplugin.utils;
 
 import de.questplugin.OraxenQuestPlugin;
 
+import java.util.function.Supplier;
+
 /**
  * Zentrale Logging-Utility mit debug-mode Support
  *
- * Alle Logs gehen durch diese Klasse, die automatisch
- * debug-mode aus der Config prüft
+ * Alle Logs gehen durch diese Klasse. debug-mode wird beim Start
+ * bzw. Reload aus der Config gelesen und als volatile Flag gecacht -
+ * kein Config-Lookup pro Log-Aufruf.
  */
 public class PluginLogger {
 
     private final OraxenQuestPlugin plugin;
+    private volatile boolean debugMode;
 
     public PluginLogger(OraxenQuestPlugin plugin) {
         this.plugin = plugin;
+        reloadDebugMode();
     }
 
     /**
      * Debug-Log - NUR wenn debug-mode: true
      */
     public void debug(String message) {
-        if (isDebugMode()) {
+        if (debugMode) {
             plugin.getLogger().info("[DEBUG] " + message);
         }
     }
 
+    /**
+     * Debug-Log mit Lazy-Nachricht - String wird nur bei debug-mode gebaut
+     *
+     * Für Hot-Paths (Block-Break, Spawn, Death) statt String-Konkatenation nutzen.
+     */
+    public void debug(Supplier<String> message) {
+        if (debugMode) {
+            plugin.getLogger().info("[DEBUG] " + message.get());
+        }
+    }
+
     /**
      * Info-Log - IMMER (wichtige Infos)
      * Nutze sparsam!
@@ -51,22 +67,37 @@ public class PluginLogger {
      * Fine-Log (für tiefe Debug-Infos)
      */
     public void fine(String message) {
-        if (isDebugMode()) {
+        if (debugMode) {
             plugin.getLogger().fine(message);
         }
     }
 
     /**
-     * Prüft debug-mode aus Config
+     * Prüft ob debug-mode aktiv ist (für mehrzeilige Debug-Blöcke)
+     */
+    public boolean isDebugEnabled() {
+        return debugMode;
+    }
+
+    /**
+     * Setzt debug-mode direkt (z.B. /quest debug)
+     */
+    public void setDebugMode(boolean debugMode) {
+        this.debugMode = debugMode;
+    }
+
+    /**
+     * Liest debug-mode neu aus der Config (nach reloadConfig())
      */
-    private boolean isDebugMode() {
-        return plugin.getConfig().getBoolean("debug-mode", false);
+    public void reloadDebugMode() {
+        this.debugMode = plugin.getConfig().getBoolean("debug-mode", false);
     }
 
     /**
      * Statische Methode für schnellen Zugriff
      */
     public static PluginLogger get(OraxenQuestPlugin plugin) {
-        return new PluginLogger(plugin);
+        PluginLogger logger = plugin.getPluginLogger();
+        return logger != null ? logger : new PluginLogger(plugin);
     }
 }
\ No newline at end of file